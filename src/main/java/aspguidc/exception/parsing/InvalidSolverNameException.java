@@ -0,0 +1,10 @@
+package aspguidc.exception.parsing;
+
+/**
+ * Signals that the solver property of the gui definition is not a supported logic program solver.
+ */
+public class InvalidSolverNameException extends DefinitionFormatException {
+    public InvalidSolverNameException(String solverName) {
+        super(String.format("%s is not a supported solver (supported solvers: dlv, clingo)", solverName));
+    }
+}
@@ -2,7 +2,9 @@ package aspguidc.model;
 
 import aspguidc.exception.parsing.DefinitionFormatException;
 import aspguidc.exception.parsing.InvalidJsonObjectException;
+import aspguidc.exception.parsing.InvalidSolverNameException;
 import aspguidc.exception.parsing.MissingPropertyException;
+import aspguidc.helper.JsonHelper;
 import aspguidc.model.information.ProgramInformationDefinition;
 import aspguidc.model.input.ProgramInputDefinition;
 import aspguidc.model.output.ProgramOutputDefinition;
@@ -22,10 +24,12 @@ import java.util.logging.Logger;
  */
 public class GraphicalUserInterfaceDefinition {
     private static final String objectName = "gui-definition-object";
+    private static final List<String> supportedSolvers = Arrays.asList("dlv", "clingo");
 
     private ProgramInformationDefinition programInformation;
     private ProgramInputDefinition programInput;
     private ProgramOutputDefinition programOutput;
+    private String solver = "dlv";
 
     private GraphicalUserInterfaceDefinition() {
     }
@@ -102,6 +106,11 @@ public class GraphicalUserInterfaceDefinition {
         } else if ("program_output".equals(propertyKey)) {
             this.programOutput = ProgramOutputDefinition.fromJsonElement(propertyValue);
 
+        } else if ("solver".equals(propertyKey)) {
+            JsonHelper.assertPropertyIsString(objectName, propertyKey, propertyValue);
+            this.solver = propertyValue.getAsJsonPrimitive().getAsString().trim().toLowerCase();
+            if (!supportedSolvers.contains(this.solver)) throw new InvalidSolverNameException(this.solver);
+
         } else {
             Logger.getGlobal().warning(String.format("unsupported property '%s' in '%s' object", propertyKey, objectName));
         }
@@ -118,4 +127,8 @@ public class GraphicalUserInterfaceDefinition {
     public ProgramOutputDefinition getProgramOutput() {
         return this.programOutput;
     }
+
+    public String getSolver() {
+        return this.solver;
+    }
 }
@@ -131,7 +131,7 @@ public class SourceCodeGenerationService {
     private void generateGeneralCode(GraphicalUserInterfaceDefinition guiDefinition, File logicProgramFile, String jarFileName) throws IOException {
         GeneralTemplateWriter generalWriter = new GeneralTemplateWriter(this.targetDirectory);
         generalWriter.writeBuildFile(guiDefinition.getProgramInformation().getName(), jarFileName);
-        generalWriter.writeMainFile(guiDefinition.getProgramInformation().getName(), guiDefinition.getProgramInformation().getAuthor());
+        generalWriter.writeMainFile(guiDefinition.getProgramInformation().getName(), guiDefinition.getProgramInformation().getAuthor(), guiDefinition.getSolver());
         generalWriter.writeLogicProgram(logicProgramFile);
     }
 
@@ -50,14 +50,16 @@ public class GeneralTemplateWriter {
      *
      * @param programName program name which is used in the title of the window of the generated program
      * @param author      author which is used in the title of the window of the generated program
+     * @param solver      name of the logic program solver which is used by the generated program per default
      * @throws IOException
      */
-    public void writeMainFile(String programName, String author) throws IOException {
+    public void writeMainFile(String programName, String author, String solver) throws IOException {
         Logger.getGlobal().info("[generating] write program main file");
 
         JtwigModel programInfoModel = JtwigModel.newModel()
                 .with("name", programName)
-                .with("author", author);
+                .with("author", author)
+                .with("solver", solver);
 
         FileHelper.writeTemplateFile("src/main/java/aspguidp/Main.java", programInfoModel, this.sourceCodeDirectory);
     }
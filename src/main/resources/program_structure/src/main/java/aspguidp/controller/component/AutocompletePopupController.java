@@ -1,18 +1,26 @@
 package aspguidp.controller.component;
 
 import aspguidp.service.input.suggestion.SuggestionService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.AnchorPane;
 
-import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Controller class for the autocomplete popup content component.
@@ -26,9 +34,27 @@ import java.util.List;
  * The visibility and position of the popup must be managed by the class which creates the popup window. The
  * {@link aspguidp.gui.component.AutocompletePopupAssistant} class provides static methods to initialize an
  * autocomplete popup and manage the visibility and position of the popup for a given input field.
+ * <p>
+ * Suggestions are gathered on a background thread, therefore large value sources do not block the input of the user.
+ * The suggestion query is prepared on the application thread when it is scheduled, which gathers the state of the
+ * application that is required to generate the suggestions ({@link SuggestionService#prepareSuggestions(String)}).
+ * Queries on text changes are delayed until the user stops typing for a short time, and a query is cancelled as soon
+ * as a newer query is started. Only the first page of suggestions is gathered at first, further pages are gathered
+ * when the user scrolls to the end of the displayed suggestions.
  */
 public class AutocompletePopupController {
     private static final KeyEvent ENTER_PRESSED_EVENT = new KeyEvent(KeyEvent.KEY_PRESSED, "", "", KeyCode.ENTER, false, false, false, false);
+    private static final long SUGGESTION_DELAY_MILLIS = 150;
+    private static final int SUGGESTION_PAGE_SIZE = 25;
+    private static final ScheduledExecutorService SUGGESTION_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "autocomplete-suggestions");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong suggestionQueryId = new AtomicLong();
+    private ScheduledFuture<?> suggestionQuery;
+    private int suggestionLimit = SUGGESTION_PAGE_SIZE;
 
     @FXML
     private AnchorPane rootNode;
@@ -46,17 +72,18 @@ public class AutocompletePopupController {
     /**
      * Initialize the popup content to display suggestions from the given suggestion manager for the given input field.
      * <p>
-     * The suggestions in the given excluded suggestions list are not displayed in the popup, even if the suggestion
+     * The suggestions in the given excluded suggestions set are not displayed in the popup, even if the suggestion
      * manager suggests them. This is used to exclude suggestions which are already present in the entity list of
      * an entity input.
-     * The list of excluded suggestions is not cloned, but used as a reference. If another class changes the content
-     * of this list, the excluded suggestions will be updated in the popup too.
+     * The set of excluded suggestions is not cloned, but used as a reference. If another class changes the content
+     * of this set, the excluded suggestions will be updated in the popup too. As the set is read while suggestions
+     * are gathered on the background thread, it must be safe to check its content concurrently.
      *
      * @param inputField          input field for which content of the autocomplete popup is initialized
      * @param suggestionService   service which is used to gather suggestions for the current input field content
-     * @param excludedSuggestions list of suggestions which should not be displayed in the popup window
+     * @param excludedSuggestions set of suggestions which should not be displayed in the popup window
      */
-    public void initialize(TextField inputField, SuggestionService suggestionService, List<String> excludedSuggestions) {
+    public void initialize(TextField inputField, SuggestionService suggestionService, Set<String> excludedSuggestions) {
         this.rootNode.prefWidthProperty().bind(inputField.widthProperty());
         this.initializeSuggestionUpdateHandler(inputField, suggestionService, excludedSuggestions);
         this.initializeHeightHandler();
@@ -68,31 +95,116 @@ public class AutocompletePopupController {
      * given suggestion service to gather displayed suggestions.
      * <p>
      * The handler is called when the given input field gets the focus, is clicked by mouse or when the content of the
-     * input field changes.
+     * input field changes. Text changes are delayed, to query suggestions only after the user stopped typing.
+     * Additionally, the next page of suggestions is queried when the list of suggestions is scrolled to its end.
      *
      * @param inputField          input field for which the handler is initialized
      * @param suggestionService   service which is used to gather displayed suggestions
-     * @param excludedSuggestions list of suggestion which should not be displayed
+     * @param excludedSuggestions set of suggestion which should not be displayed
      */
-    private void initializeSuggestionUpdateHandler(TextField inputField, SuggestionService suggestionService, Collection<String> excludedSuggestions) {
-        // update listview items on focus and on textchange
-        Runnable suggestionUpdateHandler = () -> {
-            if (!inputField.isFocused()) return;
+    private void initializeSuggestionUpdateHandler(TextField inputField, SuggestionService suggestionService, Set<String> excludedSuggestions) {
+        // update listview items on focus and on textchange, starting with the first page of suggestions
+        Consumer<Long> suggestionUpdateHandler = delay -> {
+            if (!inputField.isFocused()) {
+                this.suggestionQueryId.incrementAndGet();
+                return;
+            }
 
-            // get suggestions
-            List<String> suggestions = suggestionService.getSuggestions(inputField.getText());
-            Boolean containsCurrentInput = suggestions.remove(inputField.getText());
-            suggestions.removeAll(excludedSuggestions);
-            this.suggestionList.getItems().setAll(suggestions);
+            this.suggestionLimit = SUGGESTION_PAGE_SIZE;
+            this.querySuggestions(inputField, suggestionService, excludedSuggestions, delay, true);
+        };
+        inputField.focusedProperty().addListener((observable, oldValue, newValue) -> suggestionUpdateHandler.accept(0L));
+        inputField.textProperty().addListener((observable, oldValue, newValue) -> suggestionUpdateHandler.accept(SUGGESTION_DELAY_MILLIS));
+        inputField.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> suggestionUpdateHandler.accept(0L));
 
-            // select first suggestion if input is not a suggestions. scroll to first element
-            if (!containsCurrentInput) this.suggestionList.getSelectionModel().selectFirst();
-            this.suggestionList.scrollTo(0);
+        // query next page if the list is scrolled to its end and the current page is complete
+        Runnable nextPageHandler = () -> {
+            if (!inputField.isFocused() || this.suggestionList.getItems().size() < this.suggestionLimit) return;
 
+            this.suggestionLimit += SUGGESTION_PAGE_SIZE;
+            this.querySuggestions(inputField, suggestionService, excludedSuggestions, 0, false);
         };
-        inputField.focusedProperty().addListener((observable, oldValue, newValue) -> suggestionUpdateHandler.run());
-        inputField.textProperty().addListener((observable, oldValue, newValue) -> suggestionUpdateHandler.run());
-        inputField.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> suggestionUpdateHandler.run());
+        this.suggestionList.skinProperty().addListener((observable, oldSkin, newSkin) -> {
+            for (Node n : this.suggestionList.lookupAll(".scroll-bar")) {
+                if (!(n instanceof ScrollBar) || ((ScrollBar) n).getOrientation() != Orientation.VERTICAL) continue;
+                ScrollBar scrollBar = (ScrollBar) n;
+                scrollBar.valueProperty().addListener((o, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= scrollBar.getMax()) nextPageHandler.run();
+                });
+            }
+        });
+    }
+
+    /**
+     * Query the suggestions for the current content of the given input field on the suggestion executor after the
+     * given delay. The query is prepared on the application thread, only the prepared query is executed on the
+     * suggestion executor. Previous queries are cancelled. At most as many suggestions as the current suggestion limit are
+     * queried, suggestions which equal the content of the input field and excluded suggestions are skipped.
+     * <p>
+     * When the query is completed, the suggestions are displayed on the application thread, if no newer query was
+     * started in the meantime.
+     *
+     * @param inputField          input field for which suggestions are queried
+     * @param suggestionService   service which is used to gather suggestions
+     * @param excludedSuggestions suggestions which should not be displayed
+     * @param delay               delay in milliseconds after which the query is executed
+     * @param firstPage           true, if the first page of suggestions is queried. false, if the next page is queried
+     */
+    private void querySuggestions(TextField inputField, SuggestionService suggestionService,
+                                  Set<String> excludedSuggestions, long delay, boolean firstPage) {
+        if (this.suggestionQuery != null) this.suggestionQuery.cancel(false);
+        long queryId = this.suggestionQueryId.incrementAndGet();
+
+        // gather the state of the application thread, which is read on the suggestion executor
+        String input = inputField.getText();
+        int limit = this.suggestionLimit;
+        SuggestionService.SuggestionQuery query = suggestionService.prepareSuggestions(input);
+
+        this.suggestionQuery = SUGGESTION_EXECUTOR.schedule(() -> {
+            AtomicBoolean containsCurrentInput = new AtomicBoolean(false);
+            try {
+                List<String> suggestions = query.getSuggestions(limit, suggestion -> {
+                    // stop gathering suggestions, if a newer query was started
+                    if (this.suggestionQueryId.get() != queryId) throw new CancellationException();
+                    if (suggestion.equals(input)) containsCurrentInput.set(true);
+                    return !suggestion.equals(input) && !excludedSuggestions.contains(suggestion);
+                });
+                Platform.runLater(() -> this.displaySuggestions(inputField, queryId, suggestions, containsCurrentInput.get(), firstPage));
+            } catch (CancellationException e) {
+                // superseded by a newer query
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Display the given suggestions of the query with the given id, if the query is the latest query and the given
+     * input field is still focused.
+     *
+     * @param inputField           input field for which the suggestions were queried
+     * @param queryId              id of the query which gathered the suggestions
+     * @param suggestions          suggestions which are displayed
+     * @param containsCurrentInput true, if the content of the input field is a suggestion itself
+     * @param firstPage            true, if the suggestions are the first page. false, if the suggestions extend the
+     *                             currently displayed suggestions
+     */
+    private void displaySuggestions(TextField inputField, long queryId, List<String> suggestions,
+                                    boolean containsCurrentInput, boolean firstPage) {
+        if (this.suggestionQueryId.get() != queryId || !inputField.isFocused()) return;
+
+        List<String> items = this.suggestionList.getItems();
+        if (!firstPage && suggestions.size() >= items.size() && suggestions.subList(0, items.size()).equals(items)) {
+            // append next page, which keeps the selection and the scroll position
+            items.addAll(suggestions.subList(items.size(), suggestions.size()));
+            return;
+        }
+
+        this.suggestionList.getItems().setAll(suggestions);
+
+        // select first suggestion if input is not a suggestions. scroll to first element
+        if (!containsCurrentInput) this.suggestionList.getSelectionModel().selectFirst();
+        this.suggestionList.scrollTo(0);
     }
 
     /**
@@ -131,7 +243,8 @@ public class AutocompletePopupController {
                 inputField.setText(this.suggestionList.getSelectionModel().getSelectedItem());
                 inputField.end();
             } else if (e.getCode().equals(KeyCode.ESCAPE)) {
-                // hide suggestions on escape
+                // hide suggestions on escape, discard pending queries
+                this.suggestionQueryId.incrementAndGet();
                 this.suggestionList.getItems().clear();
             } else {
                 // forward event to input field
@@ -19,10 +19,12 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class of the input action area of the application. The input action area contains buttons which are used
@@ -60,11 +62,7 @@ public class InputActionController {
     @FXML
     private void initialize() {
         this.loadButton.setOnKeyPressed(e -> { if (e.getCode().equals(KeyCode.ENTER)) this.loadButton.fire(); });
-        this.loadButton.setOnAction(event -> {
-            try {
-                this.loadProblemInstance(); }
-            catch (IOException e) { e.printStackTrace(); }
-        });
+        this.loadButton.setOnAction(event -> this.loadProblemInstance());
 
         // enable save button when at least one element contains data which can be saved
         this.saveButton.disableProperty().bind(DataStatusManager.anyElementContainsDataProperty().not());
@@ -96,10 +94,12 @@ public class InputActionController {
      * When the user selects a problem instance in the file chooser, the atoms are extracted from the content
      * of the selected file and are set to the consumers of the input atom hub.
      * The consumers of the input atom hub are usually the input components of the program.
-     *
-     * @throws IOException
+     * <p>
+     * The file is read and parsed on a background thread. The input atom hub delivers the atoms to its consumers on the
+     * javafx application thread, where each input component receives its atoms in a single change. Errors which occur
+     * on the background thread are reported on the error output.
      */
-    private void loadProblemInstance() throws IOException {
+    private void loadProblemInstance() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setInitialFileName("problem-instance");
         fileChooser.setTitle("load problem instance");
@@ -108,10 +108,23 @@ public class InputActionController {
 
         File loadFile = fileChooser.showOpenDialog(this.saveButton.getScene().getWindow());
         if (loadFile != null) {
-            List<String> lines = Files.readAllLines(loadFile.toPath(), Charset.defaultCharset());
-            List<String> atomStrings = AtomHelper.extractAtomStringsFromProgramCode(String.join(" ", lines));
-            List<Atom> atoms = AtomHelper.atomsFromStringRepresentations(atomStrings);
-            CoreServicePool.getInstance().getInputAtomHub().setAtomsToConsumers(atoms);
+            Path loadPath = loadFile.toPath();
+            CompletableFuture.runAsync(() -> {
+                try {
+                    List<String> lines = Files.readAllLines(loadPath, Charset.defaultCharset());
+                    List<Atom> atoms = AtomHelper.atomsFromProgramCode(String.join("\n", lines));
+
+                    // the consumers convert the atoms on this thread, only the converted entities are applied on the
+                    // application thread
+                    CoreServicePool.getInstance().getInputAtomHub().setAtomsToConsumers(atoms);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }).exceptionally(e -> {
+                // report errors of the parser and the consumers, which would be dropped by the future otherwise
+                e.printStackTrace();
+                return null;
+            });
         }
     }
 
@@ -3,6 +3,7 @@ package aspguidp.controller.input;
 import aspguidp.helper.AtomHelper;
 import aspguidp.service.core.CoreServicePool;
 import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomSupplier;
 import javafx.fxml.FXML;
 import javafx.scene.layout.VBox;
 
@@ -34,11 +35,10 @@ public class ProgramInputController {
     private void initialize() {
         // get atoms from program code
         String programContent = CoreServicePool.getInstance().getAspSolverService().getLogicProgramContent();
-        List<String> programAtomStrings = AtomHelper.extractAtomStringsFromProgramCode(programContent);
-        List<Atom> programAtoms = AtomHelper.atomsFromStringRepresentations(programAtomStrings);
+        List<Atom> programAtoms = AtomHelper.atomsFromProgramCode(programContent);
 
         // register program code as atom source to enable autocompletion from program atoms
-        CoreServicePool.getInstance().getInputAtomHub().registerAtomSupplier(() -> programAtoms);
+        CoreServicePool.getInstance().getInputAtomHub().registerAtomSupplier(AtomSupplier.of(programAtoms));
 
         // set program atoms to input consumers; removal of this atoms in input elements will not have any effect
         // usually, the program code should not contain any input entity atoms
@@ -2,14 +2,18 @@ package aspguidp.controller.input.element;
 
 import aspguidp.gui.component.AutocompletePopupAssistant;
 import aspguidp.gui.javafx.RemovableListCell;
+import aspguidp.gui.javafx.SortedTreeList;
 import aspguidp.gui.status.DataStatusManager;
 import aspguidp.gui.status.ExecutionStatusManager;
 import aspguidp.helper.ObservableHelper;
+import aspguidp.service.core.CoreServicePool;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomValueIndex;
+import aspguidp.service.core.atom.impl.SortedAtomValueIndex;
 import aspguidp.service.data.DataServicePool;
 import aspguidp.service.data.model.Entity;
 import aspguidp.service.data.template.TemplatePart;
-import aspguidp.service.input.suggestion.SuggestionService;
-import aspguidp.service.input.suggestion.impl.TemplateSuggestionService;
+import aspguidp.service.input.session.InputSession;
 import aspguidp.service.input.validation.ValidationService;
 import aspguidp.service.input.validation.impl.TemplateValidationService;
 import com.sun.javafx.scene.control.skin.BehaviorSkinBase;
@@ -18,12 +22,21 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.SortedList;
 import javafx.scene.control.*;
+import javafx.scene.input.Clipboard;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -31,11 +44,14 @@ import java.util.function.Consumer;
  * input components of the application.
  */
 public abstract class EntityInputController extends InputElementController {
+    private static final KeyCombination pasteKeyCombination = new KeyCodeCombination(KeyCode.V, KeyCombination.SHORTCUT_DOWN);
+
+    private final Map<TextField, InputSession> inputSessions = new HashMap<>();
+
     /**
      * Initialize an autocomplete popup for the given input field with the given data service pool.
      * <p>
-     * This method creates a new suggestion service for the display template parts of the given service pool and
-     * initializes an autocomplete popup with this suggestion service.
+     * This method initializes an autocomplete popup with the input session of the given input field.
      * Additionally, the autocomplete popup is initialized in such a way, that suggestions are excluded, if they
      * are already displayed in the list view of the entity input component.
      *
@@ -44,14 +60,12 @@ public abstract class EntityInputController extends InputElementController {
      * @param inputField      input field for which the autocomplete popup is initialized
      */
     protected void initializeInputFieldAutocompletePopup(DataServicePool dataServicePool, TextField inputField) {
-        List<TemplatePart> displayTemplateParts = dataServicePool.getDisplayTemplateParts();
-        TemplateValidationService validationService = new TemplateValidationService(displayTemplateParts);
-        SuggestionService suggestionService = new TemplateSuggestionService(displayTemplateParts, validationService);
+        InputSession inputSession = this.getInputSession(dataServicePool, inputField);
 
         // initialize autocomplete popup for input field, exclude suggestions which are already in list
         ObservableList<Entity> curItems = dataServicePool.getEntityDataManager().getEntities();
-        ObservableList<String> excluded = ObservableHelper.observableList(curItems, Entity::getDisplayRepresentation);
-        AutocompletePopupAssistant.initializeAutocompletePopup(inputField, suggestionService, excluded);
+        Set<String> excluded = ObservableHelper.observableSet(curItems, Entity::getDisplayRepresentation);
+        AutocompletePopupAssistant.initializeAutocompletePopup(inputField, inputSession, excluded);
     }
 
     /**
@@ -76,16 +90,91 @@ public abstract class EntityInputController extends InputElementController {
         });
     }
 
+    /**
+     * Initialize a paste handler for the given input field, which imports pasted text with multiple lines into the
+     * entity data manager of the given service pool.
+     * <p>
+     * Each non-empty line of the pasted text is used as the display representation of an entity. The lines are
+     * validated like the input of the input field and the valid lines are converted to entities on a background
+     * thread. The entities are added to the entity data manager in a single batch. Pasted text with a single line is
+     * inserted into the input field as usual.
+     * <p>
+     * The lines are validated against a snapshot of the input atoms, which is taken when the text is pasted. Values
+     * which are added to the application after the text was pasted are therefore not considered by the validation.
+     * <p>
+     * The number of added and skipped lines is displayed by the given status label until the input of the input field
+     * changes. Lines are skipped, if they are invalid or already contained in the entity data manager.
+     *
+     * @param servicePool service pool which holds the entity data manager to which pasted entities are added
+     * @param inputField  input field on which the handler is set up
+     * @param statusLabel status label which displays the number of added and skipped lines
+     */
+    protected void initializeInputFieldPasteHandler(DataServicePool servicePool, TextField inputField, Label statusLabel) {
+        // only display status label if it contains a status
+        statusLabel.visibleProperty().bind(statusLabel.textProperty().isEmpty().not());
+        statusLabel.managedProperty().bind(statusLabel.visibleProperty());
+        inputField.textProperty().addListener((observable, oldValue, newValue) -> statusLabel.setText(""));
+
+        inputField.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (!pasteKeyCombination.match(event) || !Clipboard.getSystemClipboard().hasString()) return;
+
+            String[] pastedLines = Clipboard.getSystemClipboard().getString().split("\\R");
+            if (pastedLines.length < 2) return;
+
+            // import pasted lines as batch instead of inserting them into the input field
+            event.consume();
+            List<String> lines = new ArrayList<>();
+            for (String line : pastedLines) if (!line.trim().isEmpty()) lines.add(line.trim());
+
+            // the input atoms are requested on the javafx application thread, the lines are validated on a background thread
+            List<TemplatePart> templateParts = servicePool.getDisplayTemplateParts();
+            Collection<Atom> inputAtoms = CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers();
+            statusLabel.setText("adding " + lines.size() + " pasted lines");
+            CompletableFuture.supplyAsync(() -> getValidLines(templateParts, inputAtoms, lines))
+                    .thenCompose(validLines -> servicePool.getEntityDataManager().addAllByUserInputAsync(validLines))
+                    .whenCompleteAsync((addedCount, exception) -> {
+                        if (exception != null) {
+                            exception.printStackTrace();
+                            statusLabel.setText("pasted lines could not be added");
+                        } else if (addedCount < lines.size()) {
+                            statusLabel.setText("added " + addedCount + ", skipped " + (lines.size() - addedCount) + " of " + lines.size() + " pasted lines");
+                        } else {
+                            statusLabel.setText("added " + addedCount + " pasted lines");
+                        }
+                    }, Platform::runLater);
+        });
+    }
+
+    /**
+     * Get the given lines which are validated as valid against the given template parts. The placeholder values of the
+     * lines are validated against a value index of the given input atoms.
+     * <p>
+     * This method does not access the state of the application and can be called outside of the JavaFX application
+     * thread.
+     *
+     * @param templateParts template parts which are used to validate the lines
+     * @param inputAtoms    input atoms which are used to validate the placeholder values of the lines
+     * @param lines         lines which are validated
+     * @return lines which are validated as valid
+     */
+    private static List<String> getValidLines(List<TemplatePart> templateParts, Collection<Atom> inputAtoms, List<String> lines) {
+        AtomValueIndex valueIndex = new SortedAtomValueIndex();
+        valueIndex.setAtoms(inputAtoms);
+
+        ValidationService validationService = new TemplateValidationService(templateParts, valueIndex);
+        List<String> validLines = new ArrayList<>();
+        for (String line : lines) if (validationService.validate(line) == ValidationService.ValidationStatus.VALID) validLines.add(line);
+        return validLines;
+    }
+
     /**
      * Initialize the validation of the given stacked field (which consists of an input field and a background field)
      * of the entity input component with the given service pool.
      * <p>
-     * This method creates a new validation service for the display template parts of the given service pool and sets
-     * up a handler which sets the respective css class to the given background field on text change of the given
-     * input field.
-     * Additionally, this method creates a new suggestion service for the template parts of the given service pool
-     * and sets the prompt text of the given background field to the prompt text which is gathered from this suggestion
-     * service on text change of the input field.
+     * This method sets up a handler which sets the respective css class to the given background field on text change
+     * of the given input field, based on the validation status of the input session of the input field.
+     * Additionally, the prompt text of the given background field is set to the prompt text which is gathered from
+     * the input session on text change of the input field.
      *
      * @param servicePool     service pool which holds the data services which are used to initialize the validation of
      *                        the given input field
@@ -93,15 +182,13 @@ public abstract class EntityInputController extends InputElementController {
      * @param backgroundField background field of the stacked field of which the validation which is initialized
      */
     protected void initializeInputFieldValidation(DataServicePool servicePool, TextField inputField, TextField backgroundField) {
-        List<TemplatePart> displayTemplateParts = servicePool.getDisplayTemplateParts();
-        ValidationService validationService = new TemplateValidationService(displayTemplateParts);
-        SuggestionService suggestionService = new TemplateSuggestionService(displayTemplateParts, validationService);
+        InputSession inputSession = this.getInputSession(servicePool, inputField);
 
         // validate input on textchange
         Consumer<String> textChangeHandler = newValue -> {
-            backgroundField.setPromptText(suggestionService.getPromptText(newValue));
+            backgroundField.setPromptText(inputSession.getPromptText(newValue));
             backgroundField.getStyleClass().removeAll("validation-invalid", "validation-incomplete", "validation-valid");
-            backgroundField.getStyleClass().add(validationService.validate(newValue).getCssClass());
+            backgroundField.getStyleClass().add(inputSession.validate(newValue).getCssClass());
         };
         inputField.textProperty().addListener((observable, oldValue, newValue) -> textChangeHandler.accept(newValue));
 
@@ -109,6 +196,18 @@ public abstract class EntityInputController extends InputElementController {
         Platform.runLater(() -> textChangeHandler.accept(inputField.getText()));
     }
 
+    /**
+     * Get the input session of the given input field. The session is created for the display template parts of the
+     * given service pool on first access and is shared by the validation and the autocomplete popup of the field.
+     *
+     * @param servicePool service pool which holds the display template parts of the entity input component
+     * @param inputField  input field of which the input session is returned
+     * @return input session of the given input field
+     */
+    private InputSession getInputSession(DataServicePool servicePool, TextField inputField) {
+        return this.inputSessions.computeIfAbsent(inputField, f -> this.createInputSession(servicePool.getDisplayTemplateParts()));
+    }
+
     /**
      * Initialize the input button of the entity input component with the given service pool and the given stacked
      * field (which consists of an input field and a background field).
@@ -186,7 +285,7 @@ public abstract class EntityInputController extends InputElementController {
         ObservableList<Entity> curEntities = dataServicePool.getEntityDataManager().getEntities();
 
         // set list items, selection mode and cellfactory
-        entityList.setItems(new SortedList<>(curEntities, Comparator.comparing(Entity::getDisplayRepresentation)));
+        entityList.setItems(new SortedTreeList<>(curEntities, Comparator.comparing(Entity::getDisplayRepresentation)));
         entityList.setCellFactory(param -> new RemovableListCell<>(curEntities));
         entityList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
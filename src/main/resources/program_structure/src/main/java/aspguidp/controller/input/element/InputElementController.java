@@ -1,12 +1,23 @@
 package aspguidp.controller.input.element;
 
+import aspguidp.service.data.template.TemplatePart;
+import aspguidp.service.input.session.InputSession;
+import aspguidp.service.input.session.impl.TemplateInputSession;
 import javafx.scene.Node;
 
+import java.util.List;
+
 /**
  * Base controller class for an input component. This class implements basic functionality which is used by all input
  * components of the application.
+ * <p>
+ * The suggestions of the input fields are selected by the 'aspguidp.suggestions' system property. Supported values are
+ * 'prefix' (default), which suggests values that start with the current input, and 'fuzzy', which suggests values
+ * that contain the current input or are similar to it.
  */
 public abstract class InputElementController {
+    private static final String suggestionsProperty = "aspguidp.suggestions";
+
     /**
      * Initialize a handler which sets the css class 'imitate-focus' to the given background field, when the given
      * input field is focused. Additionally, this method sets the background field as not focus traversable.
@@ -30,4 +41,16 @@ public abstract class InputElementController {
             else backgroundField.getStyleClass().remove("imitate-focus");
         });
     }
+
+    /**
+     * Create a new input session for an input field with the given sequence of template parts. The session generates
+     * the suggestions which are selected by the suggestions system property.
+     *
+     * @param templateParts sequence of template parts which is used to validate the input and generate suggestions
+     * @return new input session for the given template parts
+     */
+    protected InputSession createInputSession(List<TemplatePart> templateParts) {
+        boolean fuzzySuggestions = "fuzzy".equalsIgnoreCase(System.getProperty(suggestionsProperty, "prefix").trim());
+        return new TemplateInputSession(templateParts, fuzzySuggestions);
+    }
 }
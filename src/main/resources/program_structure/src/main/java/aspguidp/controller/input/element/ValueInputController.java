@@ -5,10 +5,8 @@ import aspguidp.gui.status.DataStatusManager;
 import aspguidp.gui.status.ExecutionStatusManager;
 import aspguidp.service.data.DataServicePool;
 import aspguidp.service.data.manager.ValueDataManager;
-import aspguidp.service.input.suggestion.SuggestionService;
-import aspguidp.service.input.suggestion.impl.TemplateSuggestionService;
+import aspguidp.service.input.session.InputSession;
 import aspguidp.service.input.validation.ValidationService;
-import aspguidp.service.input.validation.impl.TemplateValidationService;
 import com.sun.javafx.scene.control.skin.BehaviorSkinBase;
 import javafx.application.Platform;
 import javafx.scene.control.TextField;
@@ -27,7 +25,7 @@ public abstract class ValueInputController extends InputElementController {
      * <p>
      * This method initializes the validation of the stacked field, sets up a handler which updates the value of the
      * field, when the value data manager of the given service pool changes its value and initializes an autocomplete
-     * popup for the given stacked field.
+     * popup for the given stacked field. The validation and the autocomplete popup share a single input session.
      * <p>
      * Additionally, the execution status and the data status of the field is registered to the execution/data status
      * manager of the application and a focus propagation handler is initialized for the stacked field.
@@ -37,7 +35,8 @@ public abstract class ValueInputController extends InputElementController {
      * @param backgroundField background field of the stacked field which is initialized
      */
     protected void initializeValueField(DataServicePool servicePool, TextField inputField, TextField backgroundField) {
-        this.initializeFieldValidation(servicePool, inputField, backgroundField);
+        InputSession inputSession = this.createInputSession(servicePool.getDisplayTemplateParts());
+        this.initializeFieldValidation(servicePool, inputSession, inputField, backgroundField);
 
         // update value if changed in manager. this happens when loading a problem instance from a file
         ValueDataManager dataManager = servicePool.getValueDataManager();
@@ -48,9 +47,7 @@ public abstract class ValueInputController extends InputElementController {
         });
 
         // initialize autocomplete popup for input field
-        ValidationService validationService = new TemplateValidationService(servicePool.getDisplayTemplateParts());
-        SuggestionService suggestionService = new TemplateSuggestionService(servicePool.getDisplayTemplateParts(), validationService);
-        AutocompletePopupAssistant.initializeAutocompletePopup(inputField, suggestionService);
+        AutocompletePopupAssistant.initializeAutocompletePopup(inputField, inputSession);
 
         // traverse focus on tab key event
         inputField.setOnKeyPressed(event -> {
@@ -73,28 +70,26 @@ public abstract class ValueInputController extends InputElementController {
      * Initialize the validation of the given stacked field (which consists of an input field and a background field)
      * with the given data service pool.
      * <p>
-     * This method creates a new validation service and suggestions service for the display template parts of the given
-     * service pool and sets up a handler which manages the validation and the setting of data to the value data manager
-     * of the service pool.
+     * This method sets up a handler which manages the validation by the given input session and the setting of data to
+     * the value data manager of the service pool.
      * <p>
      * The initialized handler sets the respective validation css class and stores the input data to the value
      * data manager on text change of the given stacked field. Additionally, this method sets the prompt text of the
-     * given background field to the prompt text which is gathered from this suggestion service on text change of the
-     * input field.
+     * given background field to the prompt text which is gathered from the input session on text change of the input
+     * field.
      *
      * @param servicePool     service pool which holds the data services which are used to initialize validation of the
      *                        stacked field
+     * @param inputSession    input session which is used to validate the input of the stacked field
      * @param inputField      input field of the stacked field of which the validation which is initialized
      * @param backgroundField background field of the stacked field of which the validation which is initialized
      */
-    private void initializeFieldValidation(DataServicePool servicePool, TextField inputField, TextField backgroundField) {
+    private void initializeFieldValidation(DataServicePool servicePool, InputSession inputSession, TextField inputField, TextField backgroundField) {
         ValueDataManager dataManager = servicePool.getValueDataManager();
-        ValidationService validationService = new TemplateValidationService(servicePool.getDisplayTemplateParts());
-        SuggestionService suggestionService = new TemplateSuggestionService(servicePool.getDisplayTemplateParts(), validationService);
 
         Consumer<String> textChangeHandler = newValue -> {
-            backgroundField.setPromptText(suggestionService.getPromptText(newValue));
-            ValidationService.ValidationStatus validationStatus = validationService.validate(newValue);
+            backgroundField.setPromptText(inputSession.getPromptText(newValue));
+            ValidationService.ValidationStatus validationStatus = inputSession.validate(newValue);
             backgroundField.getStyleClass().removeAll("validation-invalid", "validation-incomplete", "validation-valid");
             backgroundField.getStyleClass().add(validationStatus.getCssClass());
 
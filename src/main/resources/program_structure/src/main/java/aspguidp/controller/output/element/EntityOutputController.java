@@ -1,9 +1,9 @@
 package aspguidp.controller.output.element;
 
+import aspguidp.gui.javafx.SortedTreeList;
 import aspguidp.service.data.DataServicePool;
 import aspguidp.service.data.model.Entity;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.SortedList;
 import javafx.scene.control.ListView;
 import javafx.scene.control.SelectionMode;
 
@@ -24,7 +24,7 @@ public abstract class EntityOutputController extends OutputElementController {
     protected void initializeListView(DataServicePool dataServicePool, ListView<Entity> entityList) {
         // set list items and selection mode
         ObservableList<Entity> entityItems = dataServicePool.getEntityDataManager().getEntities();
-        entityList.setItems(new SortedList<>(entityItems, Comparator.comparing(Entity::getDisplayRepresentation)));
+        entityList.setItems(new SortedTreeList<>(entityItems, Comparator.comparing(Entity::getDisplayRepresentation)));
         entityList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
     }
 }
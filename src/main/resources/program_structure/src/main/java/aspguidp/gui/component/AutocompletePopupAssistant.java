@@ -12,7 +12,7 @@ import javafx.stage.Popup;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -32,19 +32,19 @@ public class AutocompletePopupAssistant {
      * @param suggestionService service which is used to gather suggestions for the current input field content
      */
     public static void initializeAutocompletePopup(TextField inputField, SuggestionService suggestionService) {
-        initializeAutocompletePopup(inputField, suggestionService, Collections.emptyList());
+        initializeAutocompletePopup(inputField, suggestionService, Collections.emptySet());
     }
 
     /**
      * Initialize an autocomplete popup for the given input field. The displayed suggestions in the popup are gathered
-     * from the given suggestion service. Suggestions in the given list of excluded suggestions are not displayed
+     * from the given suggestion service. Suggestions in the given set of excluded suggestions are not displayed
      * in the popup.
      *
      * @param inputField          input field for which content of the autocomplete popup is initialized
      * @param suggestionService   service which is used to gather suggestions for the current input field content
-     * @param excludedSuggestions list of suggestions which should not be displayed in the popup window
+     * @param excludedSuggestions set of suggestions which should not be displayed in the popup window
      */
-    public static void initializeAutocompletePopup(TextField inputField, SuggestionService suggestionService, List<String> excludedSuggestions) {
+    public static void initializeAutocompletePopup(TextField inputField, SuggestionService suggestionService, Set<String> excludedSuggestions) {
         try {
             // initialize popup content
             FXMLLoader loader = new FXMLLoader(Main.class.getResource("/fxml/component/autocomplete_popup.fxml"));
@@ -0,0 +1,442 @@
+package aspguidp.gui.javafx;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Custom javafx observable list, which wraps an observable source list and keeps the items of the source list sorted
+ * by a given comparator. This list can be used instead of a javafx sorted list to display the items of a large source
+ * list in sorted order.
+ * <p>
+ * The items are stored in a balanced search tree (a treap), in which every node knows the size of its subtree. This
+ * enables to insert or remove an item and to determine its sorted position in logarithmic time. Changes of the source
+ * list are applied to the tree and forwarded as changes at the sorted positions of the items, instead of sorting the
+ * whole list again. Removed items are forwarded as ranges of consecutive sorted positions. Items which are equal
+ * according to the comparator are kept in the order in which they were added to the source list. Permutations of the
+ * source list do not change this list.
+ * <p>
+ * Instances of this class are used to display the entities in the list views of the entity input and output components
+ * of the application ({@link aspguidp.controller.input.element.EntityInputController},
+ * {@link aspguidp.controller.output.element.EntityOutputController}).
+ *
+ * @param <E> type of the items of the list
+ */
+public class SortedTreeList<E> extends TransformationList<E, E> {
+    private final Comparator<? super E> comparator;
+    private final List<Node<E>> sourceNodes = new ArrayList<>();
+    private Node<E> root;
+    private long nextSequenceNumber = 0;
+
+    /**
+     * Create a new sorted list, which contains the items of the given source list sorted by the given comparator.
+     *
+     * @param source     observable source list whose items are sorted
+     * @param comparator comparator which defines the order of the items
+     */
+    public SortedTreeList(ObservableList<E> source, Comparator<? super E> comparator) {
+        super(source);
+        this.comparator = comparator;
+        for (E e : source) {
+            Node<E> node = this.createNode(e);
+            this.sourceNodes.add(node);
+            this.insertNode(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends E> c) {
+        // removed and added nodes of consecutive sub changes are collected and applied to the tree at once
+        List<Node<E>> removedNodes = new ArrayList<>();
+        List<Node<E>> addedNodes = new ArrayList<>();
+
+        this.beginChange();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                // sorted positions do not depend on source positions, only the source positions of the nodes change
+                List<Node<E>> permutedNodes = new ArrayList<>(this.sourceNodes.subList(c.getFrom(), c.getTo()));
+                for (int i = c.getFrom(); i < c.getTo(); i++) this.sourceNodes.set(c.getPermutation(i), permutedNodes.get(i - c.getFrom()));
+            } else if (c.wasUpdated()) {
+                this.applyNodeChanges(removedNodes, addedNodes);
+
+                // the sort key of an updated item may have changed, therefore its node is searched by identity
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    Node<E> node = this.sourceNodes.get(i);
+                    int previousIndex = this.indexOfNodeByIdentity(node);
+                    this.removeNodeAt(previousIndex);
+                    int index = this.insertNode(node);
+                    if (index == previousIndex) {
+                        this.nextUpdate(index);
+                    } else {
+                        this.nextRemove(previousIndex, node.item);
+                        this.nextAdd(index, index + 1);
+                    }
+                }
+            } else {
+                List<Node<E>> removedRange = this.sourceNodes.subList(c.getFrom(), c.getFrom() + c.getRemovedSize());
+                removedNodes.addAll(removedRange);
+                removedRange.clear();
+
+                List<Node<E>> addedRange = new ArrayList<>(c.getAddedSize());
+                for (E e : c.getAddedSubList()) addedRange.add(this.createNode(e));
+                this.sourceNodes.addAll(c.getFrom(), addedRange);
+                addedNodes.addAll(addedRange);
+            }
+        }
+        this.applyNodeChanges(removedNodes, addedNodes);
+        this.endChange();
+    }
+
+    /**
+     * Remove the given removed nodes from the tree and insert the given added nodes into the tree. Both lists are
+     * cleared afterwards.
+     *
+     * @param removedNodes nodes which were removed from the source list
+     * @param addedNodes   nodes which were added to the source list
+     */
+    private void applyNodeChanges(List<Node<E>> removedNodes, List<Node<E>> addedNodes) {
+        if (!removedNodes.isEmpty()) this.removeNodes(removedNodes);
+        removedNodes.clear();
+
+        // insert nodes from the first sorted position to the last, consecutive nodes form a single added range
+        addedNodes.sort(this::compare);
+        for (Node<E> node : addedNodes) {
+            int index = this.insertNode(node);
+            this.nextAdd(index, index + 1);
+        }
+        addedNodes.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= this.size()) throw new IndexOutOfBoundsException("Index: " + index);
+        return this.nodeAt(index).item;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The source index is searched linearly in the source positions of the nodes. Keeping the source index of every
+     * node would require to shift the indexes of all following nodes on every insertion into the source list, which
+     * is the frequent operation. Source indexes are not requested by the list views which display this list.
+     */
+    @Override
+    public int getSourceIndex(int index) {
+        if (index < 0 || index >= this.size()) throw new IndexOutOfBoundsException("Index: " + index);
+        Node<E> node = this.nodeAt(index);
+        for (int i = 0; i < this.sourceNodes.size(); i++) if (this.sourceNodes.get(i) == node) return i;
+        return -1;
+    }
+
+    /**
+     * @param index index of an item of the source list
+     * @return index of the item in this list
+     */
+    public int getViewIndex(int index) {
+        return this.indexOfNode(this.sourceNodes.get(index));
+    }
+
+    /**
+     * @param item item of the source list
+     * @return new tree node for the given item, which is sorted after equal items which were added before
+     */
+    private Node<E> createNode(E item) {
+        return new Node<>(item, this.nextSequenceNumber++, ThreadLocalRandom.current().nextInt());
+    }
+
+    /**
+     * Compare the given nodes by the comparator of this list. Equal items are compared by their sequence numbers.
+     *
+     * @param a first node which is compared
+     * @param b second node which is compared
+     * @return negative value, zero or positive value, if the first node is sorted before, at or after the second node
+     */
+    private int compare(Node<E> a, Node<E> b) {
+        int result = this.comparator.compare(a.item, b.item);
+        return (result != 0) ? result : Long.compare(a.sequenceNumber, b.sequenceNumber);
+    }
+
+    /**
+     * Insert the given node into the tree at its sorted position.
+     *
+     * @param node node which is inserted
+     * @return index of the inserted node
+     */
+    private int insertNode(Node<E> node) {
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+
+        Node<E>[] parts = this.split(this.root, node);
+        int index = size(parts[0]);
+        this.root = merge(merge(parts[0], node), parts[1]);
+        return index;
+    }
+
+    /**
+     * Remove the node at the given index from the tree.
+     *
+     * @param index index of the removed node
+     */
+    private void removeNodeAt(int index) {
+        Node<E>[] parts = splitAt(this.root, index);
+        this.root = merge(parts[0], splitAt(parts[1], 1)[1]);
+    }
+
+    /**
+     * Remove the given nodes from the tree. The nodes are removed by ranges of consecutive sorted positions, from the
+     * first range to the last range, and a single removal is forwarded for each range. If all nodes are removed, the
+     * tree is cleared.
+     *
+     * @param removedNodes nodes which are removed
+     */
+    private void removeNodes(List<Node<E>> removedNodes) {
+        if (removedNodes.size() == this.size()) {
+            List<E> removedItems = new ArrayList<>(this);
+            this.root = null;
+            this.nextRemove(0, removedItems);
+            return;
+        }
+
+        int[] indexes = new int[removedNodes.size()];
+        for (int i = 0; i < indexes.length; i++) indexes[i] = this.indexOfNode(removedNodes.get(i));
+        Arrays.sort(indexes);
+
+        // the positions of later ranges are shifted by the nodes of the ranges which were already removed
+        int removedCount = 0;
+        for (int rangeStart = 0; rangeStart < indexes.length; ) {
+            int rangeEnd = rangeStart + 1;
+            while (rangeEnd < indexes.length && indexes[rangeEnd] == indexes[rangeEnd - 1] + 1) rangeEnd++;
+
+            int from = indexes[rangeStart] - removedCount;
+            int count = rangeEnd - rangeStart;
+            Node<E>[] parts = splitAt(this.root, from);
+            Node<E>[] rangeParts = splitAt(parts[1], count);
+            List<E> removedItems = new ArrayList<>(count);
+            collectItems(rangeParts[0], removedItems);
+            this.root = merge(parts[0], rangeParts[1]);
+            this.nextRemove(from, removedItems);
+
+            removedCount += count;
+            rangeStart = rangeEnd;
+        }
+    }
+
+    /**
+     * @param index index of a node
+     * @return node at the given index
+     */
+    private Node<E> nodeAt(int index) {
+        Node<E> node = this.root;
+        while (size(node.left) != index) {
+            if (index < size(node.left)) {
+                node = node.left;
+            } else {
+                index -= size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Search the index of the given node in the tree by its sort key.
+     *
+     * @param node node which is contained in the tree
+     * @return index of the given node
+     */
+    private int indexOfNode(Node<E> node) {
+        int index = 0;
+        Node<E> current = this.root;
+        while (current != null) {
+            int result = this.compare(node, current);
+            if (result == 0) return index + size(current.left);
+            if (result < 0) {
+                current = current.left;
+            } else {
+                index += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Search the index of the given node by traversing the tree in order. This is used, if the sort key of the item of
+     * the node may have changed.
+     *
+     * @param node node which is contained in the tree
+     * @return index of the given node
+     */
+    private int indexOfNodeByIdentity(Node<E> node) {
+        int index = 0;
+        List<Node<E>> path = new ArrayList<>();
+        Node<E> current = this.root;
+        while (current != null || !path.isEmpty()) {
+            while (current != null) {
+                path.add(current);
+                current = current.left;
+            }
+            current = path.remove(path.size() - 1);
+            if (current == node) return index;
+            index++;
+            current = current.right;
+        }
+        return -1;
+    }
+
+    /**
+     * Split the given tree into the nodes which are sorted before the given node and the remaining nodes.
+     *
+     * @param tree tree which is split
+     * @param node node at which the tree is split
+     * @return tree of the nodes before the given node and tree of the remaining nodes
+     */
+    private Node<E>[] split(Node<E> tree, Node<E> node) {
+        if (tree == null) return createPair(null, null);
+        if (this.compare(tree, node) < 0) {
+            Node<E>[] parts = this.split(tree.right, node);
+            tree.right = parts[0];
+            parts[0] = update(tree);
+            return parts;
+        } else {
+            Node<E>[] parts = this.split(tree.left, node);
+            tree.left = parts[1];
+            parts[1] = update(tree);
+            return parts;
+        }
+    }
+
+    /**
+     * Split the given tree into its first nodes and the remaining nodes.
+     *
+     * @param tree  tree which is split
+     * @param count count of the first nodes
+     * @param <E>   type of the items of the nodes
+     * @return tree of the first nodes and tree of the remaining nodes
+     */
+    private static <E> Node<E>[] splitAt(Node<E> tree, int count) {
+        if (tree == null) return createPair(null, null);
+        if (count <= size(tree.left)) {
+            Node<E>[] parts = splitAt(tree.left, count);
+            tree.left = parts[1];
+            parts[1] = update(tree);
+            return parts;
+        } else {
+            Node<E>[] parts = splitAt(tree.right, count - size(tree.left) - 1);
+            tree.right = parts[0];
+            parts[0] = update(tree);
+            return parts;
+        }
+    }
+
+    /**
+     * Merge the given trees. All nodes of the first tree must be sorted before the nodes of the second tree.
+     *
+     * @param a   first tree which is merged
+     * @param b   second tree which is merged
+     * @param <E> type of the items of the nodes
+     * @return merged tree
+     */
+    private static <E> Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        } else {
+            b.left = merge(a, b.left);
+            return update(b);
+        }
+    }
+
+    /**
+     * @param tree tree whose subtree size is updated
+     * @param <E>  type of the items of the nodes
+     * @return the given tree
+     */
+    private static <E> Node<E> update(Node<E> tree) {
+        tree.size = size(tree.left) + size(tree.right) + 1;
+        return tree;
+    }
+
+    /**
+     * @param tree tree or null
+     * @param <E>  type of the items of the nodes
+     * @return count of nodes of the given tree
+     */
+    private static <E> int size(Node<E> tree) {
+        return (tree == null) ? 0 : tree.size;
+    }
+
+    /**
+     * Add the items of the given tree to the given list in sorted order.
+     *
+     * @param tree  tree whose items are added
+     * @param items list to which the items are added
+     * @param <E>   type of the items of the nodes
+     */
+    private static <E> void collectItems(Node<E> tree, List<E> items) {
+        if (tree == null) return;
+        collectItems(tree.left, items);
+        items.add(tree.item);
+        collectItems(tree.right, items);
+    }
+
+    /**
+     * @param a   first tree of the pair
+     * @param b   second tree of the pair
+     * @param <E> type of the items of the nodes
+     * @return array which contains the given trees
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Node<E>[] createPair(Node<E> a, Node<E> b) {
+        return new Node[]{a, b};
+    }
+
+    /**
+     * Node of the tree, which holds an item of the source list. The nodes are ordered as binary search tree by their
+     * items and sequence numbers, and as heap by their random priorities, which keeps the tree balanced.
+     *
+     * @param <E> type of the item of the node
+     */
+    private static class Node<E> {
+        private final E item;
+        private final long sequenceNumber;
+        private final int priority;
+        private Node<E> left;
+        private Node<E> right;
+        private int size = 1;
+
+        /**
+         * @param item           item of the node
+         * @param sequenceNumber number which orders the node after nodes with equal items which were created before
+         * @param priority       random heap priority of the node
+         */
+        private Node(E item, long sequenceNumber, int priority) {
+            this.item = item;
+            this.sequenceNumber = sequenceNumber;
+            this.priority = priority;
+        }
+    }
+}
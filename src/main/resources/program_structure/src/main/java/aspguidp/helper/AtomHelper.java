@@ -2,11 +2,12 @@ package aspguidp.helper;
 
 import aspguidp.exception.InvalidAtomRepresentationException;
 import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.impl.AtomLexer;
 import aspguidp.service.core.atom.impl.SimpleAtom;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -14,34 +15,25 @@ import java.util.stream.Collectors;
  */
 public class AtomHelper {
     /**
-     * Extract string representations of atoms from the given program code.
+     * Get the atoms of the facts of the given program code. Rules, constraints and comments of the program code are
+     * skipped.
      *
-     * @param programCodeString code of the program to extract atom strings from
-     * @return list of string representations fo atoms extracted from the given program code.
+     * @param programCodeString code of the program to get the atoms from
+     * @return list of atom instances of the facts of the given program code
      */
-    public static List<String> extractAtomStringsFromProgramCode(String programCodeString) {
-        List<String> atomStrings = new ArrayList<>();
-        String pattern = "(?:^|\\R|\\.)\\s*(" + PatternHelper.getAtomPattern() + ")(?=\\.)";
-        Matcher atomMatcher = Pattern.compile(pattern).matcher(programCodeString);
-        while (atomMatcher.find()) {
-            atomStrings.add(atomMatcher.group(1));
-        }
-        return atomStrings;
+    public static List<Atom> atomsFromProgramCode(String programCodeString) {
+        return AtomLexer.readFacts(programCodeString);
     }
 
     /**
-     * Extract string representations of atoms from the given answer set string.
+     * Get the atoms of the given answer set string. Parts of the answer set string which are no valid atoms are
+     * skipped.
      *
-     * @param answerSetString string representation of the answer set to extract atom strings from
-     * @return list of string representations of atoms extracted from the given answer set
+     * @param answerSetString string representation of the answer set to get the atoms from
+     * @return list of atom instances of the given answer set
      */
-    public static List<String> extractAtomStringsFromAnswerSet(String answerSetString) {
-        List<String> atomStrings = new ArrayList<>();
-        Matcher atomMatcher = Pattern.compile("(" + PatternHelper.getAtomPattern() + "),?").matcher(answerSetString);
-        while (atomMatcher.find()) {
-            atomStrings.add(atomMatcher.group(1));
-        }
-        return atomStrings;
+    public static List<Atom> atomsFromAnswerSet(String answerSetString) {
+        return AtomLexer.readAnswerSet(answerSetString);
     }
 
     /**
@@ -86,6 +78,22 @@ public class AtomHelper {
         return sortedAtoms.stream().map(Atom::getStringRepresentation).map(s -> s + ". ").collect(Collectors.joining());
     }
 
+    /**
+     * Write the program code which can be used in an asp program for the given atoms to the given writer.
+     * In contrast to {@link #getProgramCode(Collection)}, the atoms are not sorted and the program code is written
+     * atom by atom instead of being collected into a single string.
+     *
+     * @param atoms  atoms which are written as program code
+     * @param writer writer to which the program code is written
+     * @throws IOException if an error occurs while writing to the given writer
+     */
+    public static void writeProgramCode(Collection<Atom> atoms, Writer writer) throws IOException {
+        for (Atom a : atoms) {
+            writer.write(a.getStringRepresentation());
+            writer.write(". ");
+        }
+    }
+
     /**
      * Generate the program code which can be used in an asp program for the given atom instances.
      * Each list in the list of lists are written to the program code as one line.
@@ -3,9 +3,15 @@ package aspguidp.helper;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableSet;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Helper class which provides static methods regarding to the management of observable objects.
@@ -13,30 +19,58 @@ import java.util.stream.Collectors;
 public class ObservableHelper {
 
     /**
-     * Construct a observable list which contains the result of the given function applied to the values of the given
-     * observable source list. The values from the source list are applied to the given map function, and stored
-     * in the returned observable list afterwards. If the source list gets updated, the changes are forwarded to
-     * the returned list.
+     * Construct an observable set which contains the distinct results of the given function applied to the values of
+     * the given observable source list. If the source list gets updated, the changes are forwarded to the returned
+     * set. A result is removed from the returned set, when no item of the source list is mapped to the result anymore.
      * <p>
-     * This enables to bind results of method calls on the items of an observable list to another observable list.
-     * This method is used to get an observable list of respective display representation strings from an observable
-     * list of entity instances.
+     * The returned set is backed by a hash set, which enables to check in constant time, if a result is contained in
+     * the set. The set is updated on the thread which updates the source list, but it is safe to check if a result is
+     * contained in the set from other threads. This method is used to get a set of the display representation strings
+     * of an observable list of entity instances, which are excluded from autocomplete suggestions.
      *
-     * @param source      observable source list for the returned list
+     * @param source      observable source list for the returned set
      * @param mapFunction function which is applied to the items of the source list before they are stored in the
-     *                    returned list.
+     *                    returned set.
      * @param <S>         type of items in the source list
-     * @param <D>         type of items in the returned list
-     * @return observable list which contains the results of the given function applied on the items of the
+     * @param <D>         type of items in the returned set
+     * @return observable set which contains the distinct results of the given function applied on the items of the
      * source list.
      */
-    public static <S, D> ObservableList<D> observableList(ObservableList<S> source, Function<S, D> mapFunction) {
-        ObservableList<D> destination = FXCollections.observableArrayList();
-        destination.setAll(source.stream().map(mapFunction).collect(Collectors.toList()));
+    public static <S, D> ObservableSet<D> observableSet(ObservableList<S> source, Function<S, D> mapFunction) {
+        ObservableSet<D> destination = FXCollections.observableSet(ConcurrentHashMap.newKeySet());
+        Map<D, Integer> resultCounts = new HashMap<>();
+        List<D> mappedValues = new ArrayList<>();
+
+        // count the items which are mapped to each result, a result is contained while its count is positive
+        Consumer<D> addResult = d -> { if (resultCounts.merge(d, 1, Integer::sum) == 1) destination.add(d); };
+        Consumer<D> removeResult = d -> {
+            if (resultCounts.computeIfPresent(d, (k, count) -> (count > 1) ? count - 1 : null) == null) destination.remove(d);
+        };
+
+        // keep the mapped values by position, to know the results of removed and updated items
+        for (S s : source) mappedValues.add(mapFunction.apply(s));
+        mappedValues.forEach(addResult);
         source.addListener((ListChangeListener<S>) c -> {
             while (c.next()) {
-                destination.removeAll(c.getRemoved().stream().map(mapFunction).collect(Collectors.toList()));
-                destination.addAll(c.getAddedSubList().stream().map(mapFunction).collect(Collectors.toList()));
+                if (c.wasPermutated()) {
+                    List<D> permutedValues = new ArrayList<>(mappedValues.subList(c.getFrom(), c.getTo()));
+                    for (int i = c.getFrom(); i < c.getTo(); i++) mappedValues.set(c.getPermutation(i), permutedValues.get(i - c.getFrom()));
+                } else if (c.wasUpdated()) {
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        D updatedValue = mapFunction.apply(source.get(i));
+                        removeResult.accept(mappedValues.set(i, updatedValue));
+                        addResult.accept(updatedValue);
+                    }
+                } else {
+                    List<D> removedRange = mappedValues.subList(c.getFrom(), c.getFrom() + c.getRemovedSize());
+                    removedRange.forEach(removeResult);
+                    removedRange.clear();
+
+                    List<D> addedValues = new ArrayList<>(c.getAddedSize());
+                    for (S s : c.getAddedSubList()) addedValues.add(mapFunction.apply(s));
+                    mappedValues.addAll(c.getFrom(), addedValues);
+                    addedValues.forEach(addResult);
+                }
             }
         });
         return destination;
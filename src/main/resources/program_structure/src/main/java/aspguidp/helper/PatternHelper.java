@@ -21,25 +21,4 @@ public class PatternHelper {
     public static String getValuePattern() {
         return "(" + identifierPattern + "|" + stringPattern + "|" + numberPattern + ")";
     }
-
-    /**
-     * @return pattern string which matches a string representation atom
-     */
-    public static String getAtomPattern() {
-        String relationName = "(-?" + identifierPattern + ")";
-        String argumentValue = "\\s*" + getValuePattern() + "\\s*";
-        String argumentsPart = "\\(((" + argumentValue + ",?)+)\\)";
-        return relationName + "(?:" + argumentsPart + ")?";
-    }
-
-    /**
-     * @return pattern string which matches an answer set inside the output of the dlv solver
-     */
-    public static String getAnswerSetPattern() {
-        // precise pattern leads to stack overflow error because of flawed regex implementation in java:
-        // https://stackoverflow.com/questions/31676277/stackoverflowerror-in-regular-expression
-        // return "\\{((?:\\s*" + getAtomPattern() + "\\s*,?)*)\\}";
-
-        return "\\{(.+?)\\}";
-    }
 }
@@ -0,0 +1,41 @@
+package aspguidp.helper;
+
+import aspguidp.Main;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.stream.Collectors;
+
+/**
+ * Helper class which provides static methods regarding to the handling of program resources.
+ */
+public class ResourceHelper {
+    /**
+     * Read the content of the program resource with the given path.
+     *
+     * @param resourcePath path of the resource in the program resources
+     * @return content of the resource with the given path
+     */
+    public static String readResource(String resourcePath) {
+        InputStream resourceStream = Main.class.getResourceAsStream(resourcePath);
+        BufferedReader resourceReader = new BufferedReader(new InputStreamReader(resourceStream, StandardCharsets.UTF_8));
+        return resourceReader.lines().collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Write the given content to a new temporary file, which is deleted when the program exits.
+     * This is used to pass program resources to external processes by path.
+     *
+     * @param content content which is written to the temporary file
+     * @param suffix  suffix of the name of the temporary file
+     * @return temporary file containing the given content
+     * @throws IOException if the temporary file cannot be written
+     */
+    public static File writeTemporaryFile(String content, String suffix) throws IOException {
+        File temporaryFile = File.createTempFile("aspguidp-", suffix);
+        temporaryFile.deleteOnExit();
+        Files.write(temporaryFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return temporaryFile;
+    }
+}
@@ -1,5 +1,8 @@
 package aspguidp.helper;
 
+import aspguidp.exception.InvalidAtomRepresentationException;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.impl.SimpleAtom;
 import aspguidp.service.data.template.TemplatePart;
 import aspguidp.service.data.template.impl.FixedTemplatePart;
 import aspguidp.service.data.template.impl.PlaceholderTemplatePart;
@@ -22,6 +25,7 @@ import java.util.stream.Collectors;
  */
 public class TemplateHelper {
     private static final Pattern placeholderPartPattern = Pattern.compile("::" + PatternHelper.getIdentifierPattern());
+    private static final String placeholderConstant = "x";
 
     /**
      * Extract template parts from the given string representation of a template.
@@ -63,41 +67,33 @@ public class TemplateHelper {
     }
 
     /**
-     * Try to match the given string against the given template parts. The returned list contains the maximum sub
-     * sequence of the given template parts, which can be matched against the given string.
-     * The returned sequence will always start with the first template part of the given template parts.
+     * Create an atom from the given atom representation template by setting a constant to every placeholder of the
+     * template. The predicate name and the arity of the created atom are equal to the predicate name and the arity of
+     * every atom which matches the given template.
+     * <p>
+     * If the predicate name of the template contains a placeholder (for example: '::rel(::a,::b)'), the atoms which
+     * match the template have different predicate names, therefore no template atom is created.
      *
-     * @param s             sequence which is matched against the given template parts
-     * @param templateParts template parts which are matched against the given string
-     * @return maximum sequence of given template parts which matches against the given string
+     * @param atomTemplateParts atom representation template
+     * @return atom for the given atom representation template. null, if the template does not represent an atom or
+     * the predicate name of the template is not fixed
      */
-    public static List<TemplatePart> getMatchingTemplateParts(String s, List<TemplatePart> templateParts) {
-        List<TemplatePart> matchingParts = new ArrayList<>();
-        String currentPatternString = "^";
-
-        for (TemplatePart part : templateParts) {
-            currentPatternString = currentPatternString + part.getPattern();
-            Matcher m = Pattern.compile(currentPatternString).matcher(s);
-            if (!m.find()) break;
-            matchingParts.add(part);
+    public static Atom getTemplateAtom(List<TemplatePart> atomTemplateParts) {
+        // the predicate name ends at the first opening bracket, which is part of a fixed template part
+        for (TemplatePart part : atomTemplateParts) {
+            if (part.isPlaceholderPart()) return null;
+            if (part.getDisplayValue().contains("(")) break;
         }
 
-        return matchingParts;
-    }
+        String atomString = atomTemplateParts.stream()
+                .map(part -> (part.isPlaceholderPart()) ? placeholderConstant : part.getDisplayValue())
+                .collect(Collectors.joining());
 
-    /**
-     * Returns the position of the end of the match, when the given string is matched against the given sequence of
-     * template parts.
-     *
-     * @param s             string which is matched against the sequence of template parts
-     * @param templateParts sequence of template parts which is matched against the given string
-     * @return end position of the match
-     */
-    public static Integer getMatchEndPosition(String s, List<TemplatePart> templateParts) {
-        String patternString = "^" + getPattern(templateParts);
-        Matcher m = Pattern.compile(patternString).matcher(s);
-        if (m.find()) return m.end();
-        return 0;
+        try {
+            return SimpleAtom.fromStringRepresentation(atomString);
+        } catch (InvalidAtomRepresentationException e) {
+            return null;
+        }
     }
 
     /**
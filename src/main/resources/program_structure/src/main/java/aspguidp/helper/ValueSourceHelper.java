@@ -1,9 +1,9 @@
 package aspguidp.helper;
 
-import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomValueIndex;
+import aspguidp.service.core.atom.SearchableAtomValueIndex;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,55 +21,62 @@ import java.util.stream.Collectors;
  * If the value source is a type, values for the type value source are values of the respective type.
  */
 public class ValueSourceHelper {
+    private static final Pattern argumentIndexPattern = Pattern.compile("\\[(\\d+)]$");
+
     /**
-     * Extract values for the given value source from the given collection of atoms.
+     * Extract values for the given value source from the given atom value index.
      * If the given starting string is not empty, the returned values are filtered, so that every returned value starts
      * with the content of the given string
      * <p>
      * This method is used to generate suggestions for possible values. For example: when generating suggestions
      * for the 'from' attribute of an 'edge' entity, the 'from' attribute has the value source 'node[0]'.
-     * In this case, this method is called with all the atoms of the program, the value source 'node[0]' and the
+     * In this case, this method is called with the value index of the input atoms, the value source 'node[0]' and the
      * current user input. The returned list of values will contain all values from the value source 'node[0]', which
      * start with the given user input.
      *
-     * @param sourceAtoms collection of atoms which is used to extract values for the given value source
+     * @param valueIndex  atom value index which is used to extract values for the given value source
      * @param valueSource value source for which the values are extracted
      * @param startsWith  string which must be the beginning of returned values
-     * @return list of values for the given value source extracted from the given atoms which begin with the given
-     * start string.
+     * @return list of values for the given value source extracted from the given value index which begin with the
+     * given start string.
      */
-    public static List<String> getValues(Collection<Atom> sourceAtoms, String valueSource, String startsWith) {
+    public static List<String> getValues(AtomValueIndex valueIndex, String valueSource, String startsWith) {
         if (valueSource.startsWith("#")) return getValuesForType(valueSource.substring(1), startsWith);
 
-        String relationName = getRelationNameFromPredicateValueSource(valueSource);
-        Integer argumentIndex = getArgumentIndexFromPredicateValueSource(valueSource);
-        return sourceAtoms.stream()
-                .filter(a -> a.getPredicateName().equals(relationName))
-                .filter(a -> a.getArguments().size() > argumentIndex)
-                .map(a -> a.getArguments().get(argumentIndex))
-                .filter(s -> s.startsWith(startsWith))
-                .distinct()
-                .collect(Collectors.toList());
-    }
+        // the argument index defaults to 0, if the predicate value source contains no argument index
+        Matcher argumentIndexMatcher = argumentIndexPattern.matcher(valueSource);
+        if (!argumentIndexMatcher.find()) return valueIndex.getValues(valueSource, 0, startsWith);
 
-    /**
-     * @param valueSource predicate value source from which the relation name is extracted
-     * @return relation name for the given predicate value source
-     */
-    private static String getRelationNameFromPredicateValueSource(String valueSource) {
-        Matcher argumentIndexMatcher = Pattern.compile("\\[(\\d+)]$").matcher(valueSource);
-        if (argumentIndexMatcher.find()) return valueSource.replace(argumentIndexMatcher.group(0), "");
-        return valueSource;
+        String relationName = valueSource.substring(0, argumentIndexMatcher.start());
+        int argumentIndex = Integer.parseInt(argumentIndexMatcher.group(1));
+        return valueIndex.getValues(relationName, argumentIndex, startsWith);
     }
 
     /**
-     * @param valueSource predicate value source from which the argument index is extracted
-     * @return argument index for the given predicate value source
+     * Search values for the given value source in the given searchable atom value index. The returned values contain
+     * the given query or are similar to the given query and are ranked by their relevance for the query
+     * ({@link SearchableAtomValueIndex#searchValues(String, int, String, int)}).
+     * <p>
+     * This method is used to generate suggestions for fragments of values. For type value sources, the values which
+     * start with the given query are returned.
+     *
+     * @param valueIndex  searchable atom value index which is used to search values for the given value source
+     * @param valueSource value source for which the values are searched
+     * @param query       string which is searched in the values
+     * @param limit       maximum number of returned values
+     * @return list of at most the given number of values for the given value source, ranked by their relevance for the
+     * given query
      */
-    private static Integer getArgumentIndexFromPredicateValueSource(String valueSource) {
-        Matcher argumentIndexMatcher = Pattern.compile("\\[(\\d+)]$").matcher(valueSource);
-        if (argumentIndexMatcher.find()) return Integer.parseInt(argumentIndexMatcher.group(1));
-        return 0;
+    public static List<String> searchValues(SearchableAtomValueIndex valueIndex, String valueSource, String query, int limit) {
+        if (valueSource.startsWith("#")) return getValuesForType(valueSource.substring(1), query);
+
+        // the argument index defaults to 0, if the predicate value source contains no argument index
+        Matcher argumentIndexMatcher = argumentIndexPattern.matcher(valueSource);
+        if (!argumentIndexMatcher.find()) return valueIndex.searchValues(valueSource, 0, query, limit);
+
+        String relationName = valueSource.substring(0, argumentIndexMatcher.start());
+        int argumentIndex = Integer.parseInt(argumentIndexMatcher.group(1));
+        return valueIndex.searchValues(relationName, argumentIndex, query, limit);
     }
 
     /**
@@ -3,11 +3,22 @@ package aspguidp.service.core;
 import aspguidp.service.core.asp.AnswerSetManager;
 import aspguidp.service.core.asp.AspSolverService;
 import aspguidp.service.core.asp.SolverMessageManager;
+import aspguidp.service.core.asp.impl.ClingoAnswerSetManager;
+import aspguidp.service.core.asp.impl.ClingoAspSolverService;
+import aspguidp.service.core.asp.impl.CachingAspSolverService;
+import aspguidp.service.core.asp.impl.ClingoSolverMessageManager;
 import aspguidp.service.core.asp.impl.DlvAnswerSetManager;
 import aspguidp.service.core.asp.impl.DlvAspSolverService;
 import aspguidp.service.core.asp.impl.DlvSolverMessageManager;
+import aspguidp.service.core.asp.impl.SolverProcessWatchdog;
+import aspguidp.service.core.atom.AtomFactory;
 import aspguidp.service.core.atom.AtomHub;
-import aspguidp.service.core.atom.impl.SimpleAtomHub;
+import aspguidp.service.core.atom.SearchableAtomValueIndex;
+import aspguidp.service.core.atom.impl.InterningAtomFactory;
+import aspguidp.service.core.atom.impl.TrigramAtomValueIndex;
+import aspguidp.service.core.atom.impl.ConcurrentAtomHub;
+
+import java.io.File;
 
 /**
  * Singleton core service pool class.
@@ -18,11 +29,39 @@ import aspguidp.service.core.atom.impl.SimpleAtomHub;
  * This class enables the initialisation of these services and managers in a single place. Other parts of the
  * application can access the services and managers of the core of the application in a simple way through this
  * class.
+ * <p>
+ * The logic program solver which is used by the application is selected by the 'aspguidp.solver' system property.
+ * Supported values are 'dlv' (default) and 'clingo'. The number of threads which are used by the clingo solver can be
+ * set by the 'aspguidp.solver.threads' system property and defaults to the number of available processors.
+ * <p>
+ * The outputs of the logic program solver are cached. The number of outputs which are cached in memory can be set by
+ * the 'aspguidp.solver.cache.size' system property (0 disables the cache). If the 'aspguidp.solver.cache.disk' system
+ * property is set to true, the outputs are additionally stored in the cache directory of the user.
+ * <p>
+ * The execution of the logic program solver can be limited by the 'aspguidp.solver.timeout' system property (wall-clock
+ * time in seconds) and the 'aspguidp.solver.memory' system property (memory in megabytes). Both limits are disabled by
+ * default (0).
+ * <p>
+ * The storage mode of the answer set manager ({@link AnswerSetManager.StorageMode}) can be set by the
+ * 'aspguidp.answerset.storage' system property. Supported values are 'lazy' (default), 'list', 'compact' and
+ * 'bitset'.
+ * <p>
+ * The methods of this class are synchronized and can be called from background threads.
  */
 public class CoreServicePool {
-    private static CoreServicePool instance;
+    private static final String solverProperty = "aspguidp.solver";
+    private static final String solverThreadsProperty = "aspguidp.solver.threads";
+    private static final String solverCacheSizeProperty = "aspguidp.solver.cache.size";
+    private static final String solverCacheDiskProperty = "aspguidp.solver.cache.disk";
+    private static final String solverTimeoutProperty = "aspguidp.solver.timeout";
+    private static final String solverMemoryProperty = "aspguidp.solver.memory";
+    private static final String answerSetStorageProperty = "aspguidp.answerset.storage";
+    private static final int defaultSolverCacheSize = 32;
+
+    private AtomFactory atomFactoryInstance;
     private AtomHub inputAtomHubInstance;
     private AtomHub outputAtomHubInstance;
+    private SearchableAtomValueIndex inputValueIndexInstance;
     private AnswerSetManager answerSetManagerInstance;
     private SolverMessageManager solverMessageManagerInstance;
     private AspSolverService aspSolverServiceInstance;
@@ -31,13 +70,26 @@ public class CoreServicePool {
     }
 
     /**
+     * The singleton instance is created by the class loader on first access, which is safe for concurrent calls.
+     *
      * @return singleton service pool instance of this class
      */
     public static CoreServicePool getInstance() {
-        if (instance == null) {
-            instance = new CoreServicePool();
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Method to access the atom factory of the application, which is used to create atoms read from string
+     * representations (for example: from the output of the logic program solver).
+     * If the atom factory is not initialized yet, it is initialized before it is returned.
+     *
+     * @return atom factory instance of the application
+     */
+    public synchronized AtomFactory getAtomFactory() {
+        if (this.atomFactoryInstance == null) {
+            this.atomFactoryInstance = new InterningAtomFactory();
         }
-        return instance;
+        return this.atomFactoryInstance;
     }
 
     /**
@@ -47,9 +99,9 @@ public class CoreServicePool {
      *
      * @return input atom hub instance of the application
      */
-    public AtomHub getInputAtomHub() {
+    public synchronized AtomHub getInputAtomHub() {
         if (this.inputAtomHubInstance == null) {
-            this.inputAtomHubInstance = new SimpleAtomHub();
+            this.inputAtomHubInstance = new ConcurrentAtomHub();
         }
         return this.inputAtomHubInstance;
     }
@@ -61,13 +113,45 @@ public class CoreServicePool {
      *
      * @return output atom hub instance of the application
      */
-    public AtomHub getOutputAtomHub() {
+    public synchronized AtomHub getOutputAtomHub() {
         if (this.outputAtomHubInstance == null) {
-            this.outputAtomHubInstance = new SimpleAtomHub();
+            this.outputAtomHubInstance = new ConcurrentAtomHub();
         }
         return this.outputAtomHubInstance;
     }
 
+    /**
+     * Method to access the value index of the input atoms of the application, which is used to look up values for value
+     * sources on the validation of user input and the generation of suggestions. The index additionally indexes the
+     * values by their trigrams, which enables to search fragments of values.
+     * If the input value index is not initialized yet, it is initialized and registered as supplied atom consumer to
+     * the input atom hub before it is returned. The index is updated with the added and removed input atoms, when the
+     * atoms are requested from the input atom hub.
+     *
+     * @return input value index instance of the application
+     */
+    public synchronized SearchableAtomValueIndex getInputValueIndex() {
+        if (this.inputValueIndexInstance == null) {
+            this.inputValueIndexInstance = new TrigramAtomValueIndex();
+            this.getInputAtomHub().registerSuppliedAtomConsumer(this.inputValueIndexInstance);
+        }
+        return this.inputValueIndexInstance;
+    }
+
+    /**
+     * Method to access the value index of the input atoms of the application ({@link #getInputValueIndex()}), after
+     * it was updated with the input atoms which changed since its last update.
+     * The input atoms are requested from the suppliers of the input atom hub, therefore this method must be called on
+     * the JavaFX application thread.
+     *
+     * @return updated input value index instance of the application
+     */
+    public SearchableAtomValueIndex getUpdatedInputValueIndex() {
+        SearchableAtomValueIndex inputValueIndex = this.getInputValueIndex();
+        this.getInputAtomHub().getAtomsFromSuppliers();
+        return inputValueIndex;
+    }
+
     /**
      * Method to access the answer set manager of the application, which manages the resulting answer sets of the
      * execution of the logic program.
@@ -75,9 +159,11 @@ public class CoreServicePool {
      *
      * @return answer set manager instance of the application
      */
-    public AnswerSetManager getAnswerSetManager() {
+    public synchronized AnswerSetManager getAnswerSetManager() {
         if (this.answerSetManagerInstance == null) {
-            this.answerSetManagerInstance = new DlvAnswerSetManager();
+            this.answerSetManagerInstance = (this.isClingoSolverSelected())
+                    ? new ClingoAnswerSetManager(this.getAnswerSetStorageMode())
+                    : new DlvAnswerSetManager(this.getAnswerSetStorageMode());
         }
         return this.answerSetManagerInstance;
     }
@@ -89,9 +175,11 @@ public class CoreServicePool {
      *
      * @return solver message manager instance of the application
      */
-    public SolverMessageManager getSolverMessageManager() {
+    public synchronized SolverMessageManager getSolverMessageManager() {
         if (this.solverMessageManagerInstance == null) {
-            this.solverMessageManagerInstance = new DlvSolverMessageManager();
+            this.solverMessageManagerInstance = (this.isClingoSolverSelected())
+                    ? new ClingoSolverMessageManager()
+                    : new DlvSolverMessageManager();
         }
         return this.solverMessageManagerInstance;
     }
@@ -103,10 +191,95 @@ public class CoreServicePool {
      *
      * @return asp solver service instance of the application
      */
-    public AspSolverService getAspSolverService() {
+    public synchronized AspSolverService getAspSolverService() {
         if (this.aspSolverServiceInstance == null) {
-            this.aspSolverServiceInstance = new DlvAspSolverService("/asp/logic-program.dl");
+            SolverProcessWatchdog watchdog = new SolverProcessWatchdog(
+                    this.getSolverLimit(solverTimeoutProperty), this.getSolverLimit(solverMemoryProperty));
+            AspSolverService solverService = (this.isClingoSolverSelected())
+                    ? new ClingoAspSolverService("/asp/logic-program.dl", this.getSolverThreadCount(), watchdog)
+                    : new DlvAspSolverService("/asp/logic-program.dl", watchdog);
+
+            int cacheSize = this.getSolverCacheSize();
+            File cacheDirectory = Boolean.getBoolean(solverCacheDiskProperty) ? this.getSolverCacheDirectory() : null;
+            this.aspSolverServiceInstance = (cacheSize > 0 || cacheDirectory != null)
+                    ? new CachingAspSolverService(solverService, cacheSize, cacheDirectory)
+                    : solverService;
         }
         return this.aspSolverServiceInstance;
     }
+
+    /**
+     * @return true, if the clingo logic program solver is selected by the solver system property
+     */
+    private boolean isClingoSolverSelected() {
+        return "clingo".equalsIgnoreCase(System.getProperty(solverProperty, "dlv").trim());
+    }
+
+    /**
+     * @return storage mode which is set by the answer set storage system property. if the property is not set or
+     * invalid, the lazy storage mode is returned
+     */
+    private AnswerSetManager.StorageMode getAnswerSetStorageMode() {
+        try {
+            return AnswerSetManager.StorageMode.valueOf(System.getProperty(answerSetStorageProperty, "").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return AnswerSetManager.StorageMode.LAZY;
+        }
+    }
+
+    /**
+     * @return number of threads which is set by the solver threads system property. if the property is not set or
+     * invalid, the number of available processors is returned
+     */
+    private int getSolverThreadCount() {
+        try {
+            return Math.max(1, Integer.parseInt(System.getProperty(solverThreadsProperty, "").trim()));
+        } catch (NumberFormatException e) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * @return number of solver outputs which are cached in memory. if the solver cache size system property is not set
+     * or invalid, the default cache size is returned
+     */
+    private int getSolverCacheSize() {
+        try {
+            return Math.max(0, Integer.parseInt(System.getProperty(solverCacheSizeProperty, "").trim()));
+        } catch (NumberFormatException e) {
+            return defaultSolverCacheSize;
+        }
+    }
+
+    /**
+     * @param limitProperty name of the system property which sets the limit
+     * @return limit which is set by the given system property. if the property is not set or invalid, 0 is returned,
+     * which disables the limit
+     */
+    private long getSolverLimit(String limitProperty) {
+        try {
+            return Math.max(0, Long.parseLong(System.getProperty(limitProperty, "").trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @return directory which is used to store solver outputs across executions of the application. the directory is
+     * located inside the cache directory of the user ('$XDG_CACHE_HOME' or '~/.cache')
+     */
+    private File getSolverCacheDirectory() {
+        String userCacheDirectory = System.getenv("XDG_CACHE_HOME");
+        if (userCacheDirectory == null || userCacheDirectory.isEmpty()) {
+            userCacheDirectory = new File(System.getProperty("user.home"), ".cache").getPath();
+        }
+        return new File(new File(userCacheDirectory, "aspguidp"), "solver-output");
+    }
+
+    /**
+     * Holder class of the singleton instance, which is initialized on first access of the get instance method.
+     */
+    private static class InstanceHolder {
+        private static final CoreServicePool instance = new CoreServicePool();
+    }
 }
@@ -17,6 +17,9 @@ import java.util.List;
  * property which signals, if the execution of the logic program did not lead to any answer sets.
  * <p>
  * Usually, only one answer set manager instance is used in the application.
+ * <p>
+ * The storage mode of an answer set manager determines how the extracted answer sets are stored in memory. The answer
+ * sets are accessed as list of atom lists regardless of the storage mode.
  */
 public interface AnswerSetManager {
     /**
@@ -24,10 +27,14 @@ public interface AnswerSetManager {
      * manager instance.
      * This method is called by the answer set programming solver service with the output of the solver after the
      * execution of the logic program.
+     * <p>
+     * The no valid answer set property is only set, if the solver completed the execution, as a stopped solver
+     * did not prove that there is no answer set.
      *
      * @param solverOutput output of the executed logic program solver
+     * @param solverStatus status of the execution of the logic program solver
      */
-    void setPropertiesBySolverOutput(String solverOutput);
+    void setPropertiesBySolverOutput(String solverOutput, AspSolverService.SolverStatus solverStatus);
 
     /**
      * Resets the answer set property and the no valid answer set property of the answer set manager to the default
@@ -45,4 +52,21 @@ public interface AnswerSetManager {
      * is false)
      */
     ReadOnlyBooleanProperty noValidAnswerSetProperty();
+
+    /**
+     * Enum which represents the modes in which an answer set manager stores the extracted answer sets.
+     * <p>
+     * In the list mode, each answer set is stored as list of atom instances. In the compact mode, predicate names and
+     * arguments are stored once in a symbol table and each answer set is stored as packed array of symbol ids. Atom
+     * instances of an answer set are created when the answer set is accessed. In the bitset mode, each distinct atom is
+     * stored once and each answer set is stored as bitset over the ids of the distinct atoms. In the lazy mode, answer
+     * sets are parsed from the solver output when they are accessed and a bounded number of parsed answer sets is
+     * cached.
+     */
+    enum StorageMode {
+        LAZY,
+        LIST,
+        COMPACT,
+        BITSET
+    }
 }
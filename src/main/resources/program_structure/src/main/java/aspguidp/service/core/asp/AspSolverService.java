@@ -19,16 +19,106 @@ public interface AspSolverService {
      * Execute the logic program which is managed by the answer set programming solver service instance.
      * Pass the given logic atoms to the logic program as input and store the output of the logic program solver to
      * the given solver message handler and the given answer set manager.
+     * <p>
+     * If the execution of the solver exceeds a limit of the solver service, the solver is stopped and the output
+     * which was produced until then is stored to the given managers with the respective solver status.
+     * <p>
+     * The default implementation executes the solver ({@link #executeSolver(Collection)}) and forwards the result of
+     * the solver to the given managers ({@link #forwardSolverResult(SolverResult, SolverMessageManager, AnswerSetManager)}).
      *
      * @param atoms                logic atoms which are passed to the logic program as input
      * @param solverMessageManager solver message manager to which the output of the logic program solver is forwarded
      * @param answerSetManager     answer set manager to which the output of the logic program solver is forwarded
      * @throws IOException
      */
-    void executeLogicProgram(Collection<Atom> atoms, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) throws IOException;
+    default void executeLogicProgram(Collection<Atom> atoms, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) throws IOException {
+        SolverResult result = this.executeSolver(atoms);
+        this.forwardSolverResult(result, solverMessageManager, answerSetManager);
+    }
+
+    /**
+     * Execute the logic program which is managed by the answer set programming solver service instance with the given
+     * logic atoms as input and return the output of the logic program solver.
+     * <p>
+     * If the execution of the solver exceeds a limit of the solver service, the solver is stopped and the output
+     * which was produced until then is returned with the respective solver status.
+     *
+     * @param atoms logic atoms which are passed to the logic program as input
+     * @return output and status of the execution of the logic program solver
+     * @throws IOException
+     */
+    SolverResult executeSolver(Collection<Atom> atoms) throws IOException;
+
+    /**
+     * Store the given result of the logic program solver to the given solver message manager and the given answer set
+     * manager.
+     * <p>
+     * The default implementation passes the solver output to both managers, which extract their properties from the
+     * solver output separately. Implementations can parse the solver output once and pass the parsed output to both
+     * managers instead.
+     *
+     * @param result               output and status of an execution of the logic program solver
+     * @param solverMessageManager solver message manager to which the output of the logic program solver is forwarded
+     * @param answerSetManager     answer set manager to which the output of the logic program solver is forwarded
+     */
+    default void forwardSolverResult(SolverResult result, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) {
+        solverMessageManager.setPropertiesBySolverOutput(result.getSolverOutput(), result.getSolverStatus());
+        answerSetManager.setPropertiesBySolverOutput(result.getSolverOutput(), result.getSolverStatus());
+    }
 
     /**
      * @return content of the logic program which is managed by the answer set programming solver service instance
      */
     String getLogicProgramContent();
+
+    /**
+     * Enum which represents the status of an execution of the logic program solver. Each status which signals a
+     * stopped execution is assigned to a message, which can be displayed in the interface of the application.
+     */
+    enum SolverStatus {
+        COMPLETED(null),
+        TIME_LIMIT_EXCEEDED("The solver exceeded the time limit and was stopped. Only the answer sets found until then are shown."),
+        MEMORY_LIMIT_EXCEEDED("The solver exceeded the memory limit and was stopped. Only the answer sets found until then are shown.");
+
+        private final String message;
+
+        SolverStatus(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return this.message;
+        }
+    }
+
+    /**
+     * Result of an execution of the logic program solver, which consists of the output and the status of the solver.
+     */
+    class SolverResult {
+        private final String solverOutput;
+        private final SolverStatus solverStatus;
+
+        /**
+         * @param solverOutput output of the logic program solver
+         * @param solverStatus status of the execution of the logic program solver
+         */
+        public SolverResult(String solverOutput, SolverStatus solverStatus) {
+            this.solverOutput = solverOutput;
+            this.solverStatus = solverStatus;
+        }
+
+        /**
+         * @return output of the logic program solver
+         */
+        public String getSolverOutput() {
+            return this.solverOutput;
+        }
+
+        /**
+         * @return status of the execution of the logic program solver
+         */
+        public SolverStatus getSolverStatus() {
+            return this.solverStatus;
+        }
+    }
 }
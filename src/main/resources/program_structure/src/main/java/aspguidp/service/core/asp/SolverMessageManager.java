@@ -21,10 +21,14 @@ public interface SolverMessageManager {
      * of the solver message manager instance.
      * This method is called by the answer set programming solver service with the output of the solver after the
      * execution of the logic program.
+     * <p>
+     * If the given solver status signals that the solver was stopped, the message of the solver status is prepended
+     * to the extracted messages.
      *
      * @param solverOutput output of the executed logic program solver
+     * @param solverStatus status of the execution of the logic program solver
      */
-    void setPropertiesBySolverOutput(String solverOutput);
+    void setPropertiesBySolverOutput(String solverOutput, AspSolverService.SolverStatus solverStatus);
 
     /**
      * @return observable property which contains the message of the logic program solver (default is null).
@@ -0,0 +1,48 @@
+package aspguidp.service.core.asp.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symbol table class which assigns an integer id to each distinct symbol (predicate name or argument value of an atom).
+ * <p>
+ * Each symbol is stored only once, regardless of how often it is interned. Ids are assigned in ascending order,
+ * starting with 0.
+ */
+public class AtomSymbolTable {
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    /**
+     * Get the id of the given symbol. If the symbol is not part of the symbol table yet, it is added to the table.
+     *
+     * @param symbol symbol which is interned
+     * @return id of the given symbol
+     */
+    public int intern(String symbol) {
+        Integer id = this.symbolIds.get(symbol);
+        if (id == null) {
+            id = this.symbols.size();
+            this.symbolIds.put(symbol, id);
+            this.symbols.add(symbol);
+        }
+        return id;
+    }
+
+    /**
+     * @param id id of the symbol
+     * @return symbol with the given id
+     */
+    public String getSymbol(int id) {
+        return this.symbols.get(id);
+    }
+
+    /**
+     * @return number of distinct symbols in the symbol table
+     */
+    public int size() {
+        return this.symbols.size();
+    }
+}
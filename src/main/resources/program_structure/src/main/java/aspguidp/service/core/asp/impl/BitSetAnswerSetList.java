@@ -0,0 +1,110 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.atom.Atom;
+
+import java.util.*;
+
+/**
+ * List implementation which stores answer sets as bitsets over a shared atom universe.
+ * <p>
+ * Each distinct atom which occurs in any answer set of the list is assigned an id and is stored only once in the atom
+ * universe of the list. Each answer set is stored as {@link BitSet}, in which the bits of the ids of the contained
+ * atoms are set. As answer sets of the same logic program usually share most of their atoms, the memory usage grows
+ * with the number of distinct atoms instead of the total number of atoms of all answer sets.
+ * <p>
+ * The atoms of an accessed answer set are returned in the order of their ids, which is the order in which the atoms
+ * occurred first in the added answer sets. The intersection and the difference of two answer sets and the membership
+ * of an atom are computed by operations on the bitsets.
+ * <p>
+ * The bitsets are not compressed (for example: by run or array containers like in roaring bitmaps). The ids are dense,
+ * as they are assigned in the order of occurrence, and most atoms occur in most answer sets. Therefore the bitsets are
+ * dense, and compressed containers would be stored as plain bitmaps as well. A bitset only uses words up to its
+ * highest set bit, which costs one bit per atom of the universe and answer set.
+ */
+public class BitSetAnswerSetList extends AbstractList<List<Atom>> {
+    private final List<Atom> atomUniverse = new ArrayList<>();
+    private final Map<Atom, Integer> atomIds = new HashMap<>();
+    private final List<BitSet> answerSetBits = new ArrayList<>();
+
+    /**
+     * Add the given answer set to the list. Atoms which are not part of the atom universe yet, are added to it.
+     *
+     * @param answerSet atoms of the answer set which is added
+     * @return true
+     */
+    @Override
+    public boolean add(List<Atom> answerSet) {
+        BitSet bits = new BitSet();
+        for (Atom a : answerSet) {
+            Integer id = this.atomIds.get(a);
+            if (id == null) {
+                id = this.atomUniverse.size();
+                this.atomIds.put(a, id);
+                this.atomUniverse.add(a);
+            }
+            bits.set(id);
+        }
+
+        this.answerSetBits.add(bits);
+        this.modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Atom> get(int index) {
+        return this.getAtoms(this.answerSetBits.get(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.answerSetBits.size();
+    }
+
+    /**
+     * @param index      index of the first answer set
+     * @param otherIndex index of the second answer set
+     * @return unmodifiable list of the atoms which are contained in both answer sets
+     */
+    public List<Atom> intersection(int index, int otherIndex) {
+        BitSet bits = (BitSet) this.answerSetBits.get(index).clone();
+        bits.and(this.answerSetBits.get(otherIndex));
+        return this.getAtoms(bits);
+    }
+
+    /**
+     * @param index      index of the first answer set
+     * @param otherIndex index of the second answer set
+     * @return unmodifiable list of the atoms which are contained in the first answer set but not in the second one
+     */
+    public List<Atom> difference(int index, int otherIndex) {
+        BitSet bits = (BitSet) this.answerSetBits.get(index).clone();
+        bits.andNot(this.answerSetBits.get(otherIndex));
+        return this.getAtoms(bits);
+    }
+
+    /**
+     * @param index index of the answer set
+     * @param atom  atom which is checked
+     * @return true, if the answer set with the given index contains the given atom
+     */
+    public boolean containsAtom(int index, Atom atom) {
+        Integer id = this.atomIds.get(atom);
+        return id != null && this.answerSetBits.get(index).get(id);
+    }
+
+    /**
+     * @param bits bitset of atom ids
+     * @return unmodifiable list of the atoms of the atom universe of which the ids are set in the given bitset
+     */
+    private List<Atom> getAtoms(BitSet bits) {
+        List<Atom> atoms = new ArrayList<>(bits.cardinality());
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) atoms.add(this.atomUniverse.get(id));
+        return Collections.unmodifiableList(atoms);
+    }
+}
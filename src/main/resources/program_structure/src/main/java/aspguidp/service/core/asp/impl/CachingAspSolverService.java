@@ -0,0 +1,168 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.helper.AtomHelper;
+import aspguidp.service.core.asp.AnswerSetManager;
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.AspSolverService.SolverStatus;
+import aspguidp.service.core.asp.SolverMessageManager;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which caches the output of another solver service.
+ * <p>
+ * The output of the wrapped solver service is cached by a hash of the logic program content and the program code of
+ * the input atoms. As the program code of the input atoms is sorted ({@link AtomHelper#getProgramCode(Collection)}),
+ * executing the logic program again with an unchanged input leads to the cached output, which is forwarded to the
+ * given managers without executing the solver.
+ * <p>
+ * The outputs are stored in memory and evicted in least recently used order if the given maximum number of cached
+ * outputs is exceeded. Additionally, the outputs can be stored in a cache directory, which enables the reuse of
+ * outputs across multiple executions of the application.
+ */
+public class CachingAspSolverService implements AspSolverService {
+    private final AspSolverService solverService;
+    private final File cacheDirectory;
+    private final String programHash;
+    private final Map<String, String> cachedOutputs;
+
+    /**
+     * Create a new solver service instance which caches the output of the given solver service.
+     *
+     * @param solverService  solver service of which the output is cached
+     * @param maxCacheSize   maximum number of solver outputs which are cached in memory
+     * @param cacheDirectory directory in which the solver outputs are stored additionally. null, if solver outputs
+     *                       should only be cached in memory
+     */
+    public CachingAspSolverService(AspSolverService solverService, int maxCacheSize, File cacheDirectory) {
+        this.solverService = solverService;
+        this.cacheDirectory = cacheDirectory;
+        this.programHash = hash(solverService.getClass().getName() + "\n" + solverService.getLogicProgramContent());
+        this.cachedOutputs = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return this.size() > maxCacheSize;
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the output for the given atoms is cached, it is returned without executing the solver. Otherwise, the wrapped
+     * solver service is executed and its output is cached, if the solver completed the execution.
+     */
+    @Override
+    public SolverResult executeSolver(Collection<Atom> atoms) throws IOException {
+        String key = hash(this.programHash + "\n" + AtomHelper.getProgramCode(atoms));
+
+        String solverOutput = this.cachedOutputs.get(key);
+        if (solverOutput == null) solverOutput = this.readCacheFile(key);
+
+        // only outputs of completed solver executions are cached
+        SolverResult result = (solverOutput != null) ? new SolverResult(solverOutput, SolverStatus.COMPLETED) : null;
+        if (result == null) {
+            result = this.solverService.executeSolver(atoms);
+            // do not cache outputs of solver executions which were stopped by a limit
+            if (result.getSolverStatus() != SolverStatus.COMPLETED) return result;
+
+            this.writeCacheFile(key, result.getSolverOutput());
+        }
+
+        this.cachedOutputs.put(key, result.getSolverOutput());
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result is forwarded by the wrapped solver service, which parses the solver output for its managers.
+     */
+    @Override
+    public void forwardSolverResult(SolverResult result, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) {
+        this.solverService.forwardSolverResult(result, solverMessageManager, answerSetManager);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+
+    /**
+     * Read the solver output for the given key from the cache directory.
+     *
+     * @param key key of the solver output
+     * @return cached solver output. null, if the cache directory is disabled or contains no output for the given key
+     */
+    private String readCacheFile(String key) {
+        if (this.cacheDirectory == null) return null;
+
+        File cacheFile = new File(this.cacheDirectory, key + ".gz");
+        if (!cacheFile.isFile()) return null;
+
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(new FileInputStream(cacheFile)), StandardCharsets.UTF_8)) {
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) sb.append(buffer, 0, read);
+            return sb.toString();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Write the given solver output for the given key to the cache directory. The output is written to a temporary
+     * file first, to avoid reading partially written outputs in concurrently running applications.
+     *
+     * @param key          key of the solver output
+     * @param solverOutput solver output which is stored
+     */
+    private void writeCacheFile(String key, String solverOutput) {
+        if (this.cacheDirectory == null) return;
+
+        try {
+            Files.createDirectories(this.cacheDirectory.toPath());
+            File tempFile = File.createTempFile(key, ".tmp", this.cacheDirectory);
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(tempFile)), StandardCharsets.UTF_8)) {
+                writer.write(solverOutput);
+            }
+            File cacheFile = new File(this.cacheDirectory, key + ".gz");
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @param s string which is hashed
+     * @return hex representation of the sha-256 hash of the given string
+     */
+    private static String hash(String s) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform implementation is required to support sha-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
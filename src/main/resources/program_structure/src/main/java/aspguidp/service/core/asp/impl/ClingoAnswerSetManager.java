@@ -0,0 +1,113 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.helper.AtomHelper;
+import aspguidp.service.core.asp.AnswerSetManager;
+import aspguidp.service.core.asp.AspSolverService.SolverStatus;
+import aspguidp.service.core.atom.Atom;
+import javafx.beans.property.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of the {@link AnswerSetManager} interface which extracts answer sets from the json output of the
+ * clingo logic program solver.
+ */
+public class ClingoAnswerSetManager implements AnswerSetManager {
+    private static final int lazyCacheSize = 16;
+
+    private final ObjectProperty<List<List<Atom>>> answerSetsProperty = new SimpleObjectProperty<>(null);
+    private final BooleanProperty noValidAnswerSetProperty = new SimpleBooleanProperty(false);
+    private final StorageMode storageMode;
+    private final ParallelAnswerSetParser answerSetParser = new ParallelAnswerSetParser(ForkJoinPool.commonPool());
+
+    /**
+     * Create a new answer set manager instance which stores answer sets in the lazy storage mode.
+     */
+    public ClingoAnswerSetManager() {
+        this(StorageMode.LAZY);
+    }
+
+    /**
+     * Create a new answer set manager instance which stores answer sets in the given storage mode.
+     * In the storage modes which store all answer sets parsed, the answer sets are parsed in parallel.
+     *
+     * @param storageMode storage mode which is used to store the extracted answer sets
+     */
+    public ClingoAnswerSetManager(StorageMode storageMode) {
+        this.storageMode = storageMode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPropertiesBySolverOutput(String solverOutput, SolverStatus solverStatus) {
+        this.setPropertiesByClingoOutput(ClingoOutput.fromSolverOutput(solverOutput), solverStatus);
+    }
+
+    /**
+     * Set the answer set properties by the given parsed solver output, like
+     * {@link #setPropertiesBySolverOutput(String, SolverStatus)}.
+     *
+     * @param output       parsed output of the clingo logic program solver
+     * @param solverStatus status of the execution of the logic program solver
+     */
+    public void setPropertiesByClingoOutput(ClingoOutput output, SolverStatus solverStatus) {
+        // check if input lead to any answer sets
+        // property is set to false on solver error, as clingo does not report the result as unsatisfiable in that case
+        // property is set to false if the solver was stopped, as the solver did not prove that there is no answer set
+        this.noValidAnswerSetProperty.set(solverStatus == SolverStatus.COMPLETED && output.isUnsatisfiable());
+
+        // fill answer set list with lists of answer set atoms
+        // in the lazy storage mode, atoms are created from the atom strings of a witness when it is accessed
+        List<List<String>> witnesses = output.getWitnesses();
+        List<List<Atom>> answerSets;
+        if (this.storageMode == StorageMode.LAZY) {
+            answerSets = new LazyAnswerSetList(witnesses.size(),
+                    i -> AtomHelper.atomsFromStringRepresentations(witnesses.get(i)), lazyCacheSize);
+        } else {
+            answerSets = this.createAnswerSetList();
+            this.answerSetParser.parseAnswerSets(witnesses.size(),
+                    i -> AtomHelper.atomsFromStringRepresentations(witnesses.get(i)), answerSets);
+        }
+
+        if (!answerSets.isEmpty()) this.answerSetsProperty.set(answerSets);
+        else this.answerSetsProperty.set(null);
+    }
+
+    /**
+     * @return empty answer set list which stores added answer sets in the storage mode of the manager instance
+     */
+    private List<List<Atom>> createAnswerSetList() {
+        if (this.storageMode == StorageMode.COMPACT) return new CompactAnswerSetList();
+        if (this.storageMode == StorageMode.BITSET) return new BitSetAnswerSetList();
+        return new ArrayList<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetProperties() {
+        this.answerSetsProperty.set(null);
+        this.noValidAnswerSetProperty.set(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyObjectProperty<List<List<Atom>>> answerSetsProperty() {
+        return this.answerSetsProperty;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyBooleanProperty noValidAnswerSetProperty() {
+        return this.noValidAnswerSetProperty;
+    }
+}
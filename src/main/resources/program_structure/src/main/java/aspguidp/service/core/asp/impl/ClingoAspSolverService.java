@@ -0,0 +1,106 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.helper.ResourceHelper;
+import aspguidp.service.core.asp.AnswerSetManager;
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SolverMessageManager;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which implements the execution of the clingo logic program
+ * solver.
+ * <p>
+ * Clingo is executed with the json output format ('--outf=2'), which enables the extraction of answer sets without
+ * parsing free form text ({@link ClingoAnswerSetManager}). Additionally, clingo is executed with multiple solving
+ * threads ('-t') if a thread count greater than one is given.
+ */
+public class ClingoAspSolverService implements AspSolverService {
+    private final String logicProgramContent;
+    private final int threadCount;
+    private final SolverProcessWatchdog watchdog;
+    private File logicProgramFile;
+
+    /**
+     * Create a new solver service instance for the logic program which can be accessed in the program resources with
+     * the given path.
+     * The given watchdog is used to execute the solver with a time limit and a memory limit.
+     *
+     * @param logicProgramPath path of the logic program which is managed by the created solver service instance
+     * @param threadCount      number of threads which are used by clingo to solve the logic program
+     * @param watchdog         watchdog which is used to execute the solver process
+     */
+    public ClingoAspSolverService(String logicProgramPath, int threadCount, SolverProcessWatchdog watchdog) {
+        this.logicProgramContent = ResourceHelper.readResource(logicProgramPath);
+        this.threadCount = threadCount;
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SolverResult executeSolver(Collection<Atom> atoms) throws IOException {
+        // execute clingo process, compute all answer sets
+        // pass logic program by file and read input atoms from stdin ('-')
+        List<String> command = new ArrayList<>(Arrays.asList("clingo", "--outf=2", "-n", "0"));
+        if (this.threadCount > 1) command.addAll(Arrays.asList("-t", Integer.toString(this.threadCount)));
+        command.addAll(Arrays.asList(this.getLogicProgramFile().getAbsolutePath(), "-"));
+        SolverProcessWatchdog.Result result = this.watchdog.execute(command, atoms);
+
+        // json object on stdout is followed by messages on stderr
+        // clingo writes the json object including the models found so far, when it is asked to terminate
+        return new SolverResult(result.getStdoutContent() + "\n" + result.getStderrContent(), result.getSolverStatus());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The solver output is parsed once ({@link ClingoOutput}), the parsed output is passed to the managers for the
+     * clingo solver. Other managers receive the solver output.
+     */
+    @Override
+    public void forwardSolverResult(SolverResult result, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) {
+        ClingoOutput output = ClingoOutput.fromSolverOutput(result.getSolverOutput());
+
+        if (solverMessageManager instanceof ClingoSolverMessageManager) {
+            ((ClingoSolverMessageManager) solverMessageManager).setPropertiesByClingoOutput(output, result.getSolverStatus());
+        } else {
+            solverMessageManager.setPropertiesBySolverOutput(result.getSolverOutput(), result.getSolverStatus());
+        }
+
+        if (answerSetManager instanceof ClingoAnswerSetManager) {
+            ((ClingoAnswerSetManager) answerSetManager).setPropertiesByClingoOutput(output, result.getSolverStatus());
+        } else {
+            answerSetManager.setPropertiesBySolverOutput(result.getSolverOutput(), result.getSolverStatus());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.logicProgramContent;
+    }
+
+    /**
+     * Method to access the file which contains the logic program content and which is passed to the solver.
+     * The file is written once and is recreated only if it was removed from the temporary directory.
+     *
+     * @return file which contains the content of the logic program of the solver service instance
+     * @throws IOException if the file cannot be written
+     */
+    private File getLogicProgramFile() throws IOException {
+        if (this.logicProgramFile == null || !this.logicProgramFile.isFile()) {
+            this.logicProgramFile = ResourceHelper.writeTemporaryFile(this.logicProgramContent, ".lp");
+        }
+        return this.logicProgramFile;
+    }
+}
@@ -0,0 +1,134 @@
+package aspguidp.service.core.asp.impl;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Model class which represents the output of the clingo logic program solver in the json output format
+ * ('--outf=2').
+ * <p>
+ * The json output of clingo is read with a {@link JsonStreamReader} instance. Only the solving result and the atoms of
+ * the witnesses (answer sets) are extracted from the json object, all other properties are skipped. Text which follows
+ * the json object (for example: warnings or errors which are written to stderr by clingo) is stored as message.
+ */
+public class ClingoOutput {
+    private final String result;
+    private final List<List<String>> witnesses;
+    private final String message;
+
+    private ClingoOutput(String result, List<List<String>> witnesses, String message) {
+        this.result = result;
+        this.witnesses = witnesses;
+        this.message = message;
+    }
+
+    /**
+     * Create a new output instance from the given solver output. The given output must start with the json object
+     * which is written by clingo, optionally followed by solver messages.
+     * <p>
+     * If the json object of the given output cannot be read, the whole output is treated as message.
+     *
+     * @param solverOutput output of the clingo logic program solver
+     * @return output instance for the given solver output
+     */
+    public static ClingoOutput fromSolverOutput(String solverOutput) {
+        try (JsonStreamReader reader = new JsonStreamReader(new StringReader(solverOutput))) {
+            String result = null;
+            List<List<String>> witnesses = new ArrayList<>();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("Result".equals(name)) result = reader.nextString();
+                else if ("Call".equals(name)) readCalls(reader, witnesses);
+                else reader.skipValue();
+            }
+            reader.endObject();
+
+            return new ClingoOutput(result, witnesses, reader.readRemaining().trim());
+        } catch (IOException e) {
+            return new ClingoOutput(null, Collections.emptyList(), solverOutput.trim());
+        }
+    }
+
+    /**
+     * Read the atoms of the witnesses of all calls in the 'Call' array at the current position of the given reader.
+     *
+     * @param reader    reader which is positioned at the 'Call' array of the clingo output
+     * @param witnesses list to which the atoms of each read witness are added
+     * @throws IOException if the clingo output is not valid json
+     */
+    private static void readCalls(JsonStreamReader reader, List<List<String>> witnesses) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"Witnesses".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) witnesses.add(readWitnessValues(reader));
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Read the atoms of the witness object at the current position of the given reader.
+     *
+     * @param reader reader which is positioned at a witness object of the clingo output
+     * @return list of string representations of the atoms of the witness
+     * @throws IOException if the clingo output is not valid json
+     */
+    private static List<String> readWitnessValues(JsonStreamReader reader) throws IOException {
+        List<String> values = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"Value".equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginArray();
+            while (reader.hasNext()) values.add(reader.nextString());
+            reader.endArray();
+        }
+        reader.endObject();
+        return values;
+    }
+
+    /**
+     * @return true, if clingo proved that the logic program has no answer set
+     */
+    public boolean isUnsatisfiable() {
+        return "UNSATISFIABLE".equals(this.result);
+    }
+
+    /**
+     * @return solving result reported by clingo (for example: 'SATISFIABLE'). null, if no result was reported
+     */
+    public String getResult() {
+        return this.result;
+    }
+
+    /**
+     * @return list of witnesses, each given as list of string representations of the atoms of the witness
+     */
+    public List<List<String>> getWitnesses() {
+        return this.witnesses;
+    }
+
+    /**
+     * @return text of the solver output which is not part of the json object (empty if there is no such text)
+     */
+    public String getMessage() {
+        return this.message;
+    }
+}
@@ -0,0 +1,51 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService.SolverStatus;
+import aspguidp.service.core.asp.SolverMessageManager;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Implementation of the {@link SolverMessageManager} interface which extracts messages from the output of the clingo
+ * logic program solver.
+ * <p>
+ * Messages of clingo are the text which follows the json object in the solver output. If the json object cannot be
+ * read, the whole solver output is used as message.
+ */
+public class ClingoSolverMessageManager implements SolverMessageManager {
+    private final StringProperty solverMessageProperty = new SimpleStringProperty(null);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPropertiesBySolverOutput(String solverOutput, SolverStatus solverStatus) {
+        this.setPropertiesByClingoOutput(ClingoOutput.fromSolverOutput(solverOutput), solverStatus);
+    }
+
+    /**
+     * Set the message property to the message of the given parsed solver output, like
+     * {@link #setPropertiesBySolverOutput(String, SolverStatus)}.
+     *
+     * @param output       parsed output of the clingo logic program solver
+     * @param solverStatus status of the execution of the logic program solver
+     */
+    public void setPropertiesByClingoOutput(ClingoOutput output, SolverStatus solverStatus) {
+        String message = output.getMessage();
+
+        // prepend status message if solver was stopped
+        if (solverStatus.getMessage() != null) message = (solverStatus.getMessage() + "\n\n" + message).trim();
+
+        if (!message.isEmpty()) this.solverMessageProperty.set(message);
+        else this.solverMessageProperty.set(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyStringProperty solverMessageProperty() {
+        return this.solverMessageProperty;
+    }
+}
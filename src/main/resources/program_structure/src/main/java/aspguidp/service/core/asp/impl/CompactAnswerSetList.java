@@ -0,0 +1,76 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.CoreServicePool;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomFactory;
+
+import java.util.*;
+
+/**
+ * List implementation which stores answer sets in a compact format.
+ * <p>
+ * Predicate names and arguments of the atoms are interned into a single {@link AtomSymbolTable}, which is shared by
+ * all answer sets of the list. Each answer set is stored as packed array of symbol ids, which contains the predicate
+ * name id, the arity and the argument ids of each atom in sequence. For example, the answer set
+ * '{edge(a,b), node(a)}' is stored as [edge, 2, a, b, node, 1, a].
+ * <p>
+ * Atom instances of an answer set are created each time the answer set is accessed and are not retained by the list.
+ */
+public class CompactAnswerSetList extends AbstractList<List<Atom>> {
+    private final AtomSymbolTable symbolTable = new AtomSymbolTable();
+    private final List<int[]> packedAnswerSets = new ArrayList<>();
+
+    /**
+     * Add the given answer set to the list. The given atoms are packed and are not retained by the list.
+     *
+     * @param answerSet atoms of the answer set which is added
+     * @return true
+     */
+    @Override
+    public boolean add(List<Atom> answerSet) {
+        int packedLength = 0;
+        for (Atom a : answerSet) packedLength += 2 + a.getArity();
+
+        int[] packedAnswerSet = new int[packedLength];
+        int i = 0;
+        for (Atom a : answerSet) {
+            packedAnswerSet[i++] = this.symbolTable.intern(a.getPredicateName());
+            packedAnswerSet[i++] = a.getArity();
+            for (int j = 0; j < a.getArity(); j++) packedAnswerSet[i++] = this.symbolTable.intern(a.getArguments().get(j));
+        }
+
+        this.packedAnswerSets.add(packedAnswerSet);
+        this.modCount++;
+        return true;
+    }
+
+    /**
+     * Create the atom instances of the answer set with the given index from the packed answer set.
+     *
+     * @param index index of the answer set
+     * @return unmodifiable list of the atoms of the answer set with the given index
+     */
+    @Override
+    public List<Atom> get(int index) {
+        int[] packedAnswerSet = this.packedAnswerSets.get(index);
+        AtomFactory atomFactory = CoreServicePool.getInstance().getAtomFactory();
+
+        List<Atom> atoms = new ArrayList<>();
+        int i = 0;
+        while (i < packedAnswerSet.length) {
+            String predicateName = this.symbolTable.getSymbol(packedAnswerSet[i++]);
+            String[] arguments = new String[packedAnswerSet[i++]];
+            for (int j = 0; j < arguments.length; j++) arguments[j] = this.symbolTable.getSymbol(packedAnswerSet[i++]);
+            atoms.add(atomFactory.createAtom(predicateName, Arrays.asList(arguments)));
+        }
+        return Collections.unmodifiableList(atoms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.packedAnswerSets.size();
+    }
+}
@@ -1,49 +1,98 @@
 package aspguidp.service.core.asp.impl;
 
 import aspguidp.helper.AtomHelper;
-import aspguidp.helper.PatternHelper;
 import aspguidp.service.core.asp.AnswerSetManager;
+import aspguidp.service.core.asp.AspSolverService.SolverStatus;
 import aspguidp.service.core.atom.Atom;
 import javafx.beans.property.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of the {@link AnswerSetManager} interface which extracts answer sets from the output of the dlv logic
  * program solver.
  */
 public class DlvAnswerSetManager implements AnswerSetManager {
+    private static final int lazyCacheSize = 16;
+
     private final ObjectProperty<List<List<Atom>>> answerSetsProperty = new SimpleObjectProperty<>(null);
     private final BooleanProperty noValidAnswerSetProperty = new SimpleBooleanProperty(false);
+    private final StorageMode storageMode;
+    private final ParallelAnswerSetParser answerSetParser = new ParallelAnswerSetParser(ForkJoinPool.commonPool());
+
+    /**
+     * Create a new answer set manager instance which stores answer sets in the lazy storage mode.
+     */
+    public DlvAnswerSetManager() {
+        this(StorageMode.LAZY);
+    }
+
+    /**
+     * Create a new answer set manager instance which stores answer sets in the given storage mode.
+     * In the storage modes which store all answer sets parsed, the answer sets are parsed in parallel.
+     *
+     * @param storageMode storage mode which is used to store the extracted answer sets
+     */
+    public DlvAnswerSetManager(StorageMode storageMode) {
+        this.storageMode = storageMode;
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void setPropertiesBySolverOutput(String solverOutput) {
-        // check if input lead to any answer sets
-        // property is set to false on solver error, as string is not empty in that case
-        this.noValidAnswerSetProperty.set(solverOutput.trim().isEmpty());
+    public void setPropertiesBySolverOutput(String solverOutput, SolverStatus solverStatus) {
+        this.setPropertiesByDlvOutput(DlvOutput.fromSolverOutput(solverOutput), solverStatus);
+    }
 
-        // get single answer set strings
-        List<String> answerSetStrings = new ArrayList<>();
-        Matcher m = Pattern.compile(PatternHelper.getAnswerSetPattern()).matcher(solverOutput);
-        while (m.find()) answerSetStrings.add(m.group(1));
+    /**
+     * Set the answer set properties by the given parsed solver output, like
+     * {@link #setPropertiesBySolverOutput(String, SolverStatus)}.
+     *
+     * @param output       parsed output of the dlv logic program solver
+     * @param solverStatus status of the execution of the logic program solver
+     */
+    public void setPropertiesByDlvOutput(DlvOutput output, SolverStatus solverStatus) {
+        // check if input lead to any answer sets
+        // property is set to false on solver error, as output is not empty in that case
+        // property is set to false if the solver was stopped, as the solver did not prove that there is no answer set
+        this.noValidAnswerSetProperty.set(solverStatus == SolverStatus.COMPLETED && output.isEmpty());
 
         // fill answer set list with lists of answer set atoms
-        List<List<Atom>> answerSets = new ArrayList<>();
-        for (String s : answerSetStrings) {
-            List<String> atomStrings = AtomHelper.extractAtomStringsFromAnswerSet(s);
-            answerSets.add(AtomHelper.atomsFromStringRepresentations(atomStrings));
+        // in the lazy storage mode, answer sets are parsed from the solver output when they are accessed
+        List<List<Atom>> answerSets;
+        if (this.storageMode == StorageMode.LAZY) {
+            answerSets = new LazyAnswerSetList(output.getAnswerSetCount(),
+                    i -> parseAnswerSet(output.getAnswerSet(i)), lazyCacheSize);
+        } else {
+            answerSets = this.createAnswerSetList();
+            this.answerSetParser.parseAnswerSets(output.getAnswerSetCount(),
+                    i -> parseAnswerSet(output.getAnswerSet(i)), answerSets);
         }
 
         if (!answerSets.isEmpty()) this.answerSetsProperty.set(answerSets);
         else this.answerSetsProperty.set(null);
     }
 
+    /**
+     * @param answerSetString string representation of the answer set, without the enclosing curly braces
+     * @return atoms of the given answer set
+     */
+    private static List<Atom> parseAnswerSet(String answerSetString) {
+        return AtomHelper.atomsFromAnswerSet(answerSetString);
+    }
+
+    /**
+     * @return empty answer set list which stores added answer sets in the storage mode of the manager instance
+     */
+    private List<List<Atom>> createAnswerSetList() {
+        if (this.storageMode == StorageMode.COMPACT) return new CompactAnswerSetList();
+        if (this.storageMode == StorageMode.BITSET) return new BitSetAnswerSetList();
+        return new ArrayList<>();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,15 +1,16 @@
 package aspguidp.service.core.asp.impl;
 
-import aspguidp.Main;
-import aspguidp.helper.AtomHelper;
+import aspguidp.helper.ResourceHelper;
 import aspguidp.service.core.asp.AnswerSetManager;
 import aspguidp.service.core.asp.AspSolverService;
 import aspguidp.service.core.asp.SolverMessageManager;
 import aspguidp.service.core.atom.Atom;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Implementation of the {@link AspSolverService} interface which implements the execution of the dlv logic program
@@ -17,44 +18,56 @@ import java.util.stream.Collectors;
  */
 public class DlvAspSolverService implements AspSolverService {
     private final String logicProgramContent;
+    private final SolverProcessWatchdog watchdog;
+    private File logicProgramFile;
 
     /**
      * Create a new solver service instance for the logic program which can be accessed in the program resources with
      * the given path.
      *
+     * The given watchdog is used to execute the solver with a time limit and a memory limit.
+     *
      * @param logicProgramPath path of the logic program which is managed by the created solver service instance
+     * @param watchdog         watchdog which is used to execute the solver process
      */
-    public DlvAspSolverService(String logicProgramPath) {
-        InputStream programFileStream = Main.class.getResourceAsStream(logicProgramPath);
-        BufferedReader programFileReader = new BufferedReader(new InputStreamReader(programFileStream));
-        this.logicProgramContent = programFileReader.lines().collect(Collectors.joining("\n"));
+    public DlvAspSolverService(String logicProgramPath, SolverProcessWatchdog watchdog) {
+        this.logicProgramContent = ResourceHelper.readResource(logicProgramPath);
+        this.watchdog = watchdog;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void executeLogicProgram(Collection<Atom> atoms, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) throws IOException {
-        // instantiate dlv process
-        ProcessBuilder pb = new ProcessBuilder("dlv", "-silent", "--");
-        Process p = pb.start();
+    public SolverResult executeSolver(Collection<Atom> atoms) throws IOException {
+        // execute dlv process, pass logic program by file and read input atoms from stdin
+        String programPath = this.getLogicProgramFile().getAbsolutePath();
+        List<String> command = Arrays.asList("dlv", "-silent", programPath, "--");
+        SolverProcessWatchdog.Result result = this.watchdog.execute(command, atoms);
+        return new SolverResult(result.getStdoutContent() + result.getStderrContent(), result.getSolverStatus());
+    }
 
-        // write program content
-        OutputStreamWriter osw = new OutputStreamWriter(p.getOutputStream());
-        osw.write(this.logicProgramContent);
-        osw.write(AtomHelper.getProgramCode(atoms));
-        osw.close(); // no need to flush() manually, close() will do it automatically
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The solver output is parsed once ({@link DlvOutput}), the parsed output is passed to the managers for the dlv
+     * solver. Other managers receive the solver output.
+     */
+    @Override
+    public void forwardSolverResult(SolverResult result, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) {
+        DlvOutput output = DlvOutput.fromSolverOutput(result.getSolverOutput());
 
-        // collect dlv output
-        BufferedReader stdoutReader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-        String stdoutContent = stdoutReader.lines().collect(Collectors.joining("\n"));
-        BufferedReader stderrReader = new BufferedReader(new InputStreamReader(p.getErrorStream()));
-        String stderrContent = stderrReader.lines().collect(Collectors.joining("\n"));
-        String solverOutput = stdoutContent + stderrContent;
+        if (solverMessageManager instanceof DlvSolverMessageManager) {
+            ((DlvSolverMessageManager) solverMessageManager).setPropertiesByDlvOutput(output, result.getSolverStatus());
+        } else {
+            solverMessageManager.setPropertiesBySolverOutput(result.getSolverOutput(), result.getSolverStatus());
+        }
 
-        // write to managers
-        solverMessageManager.setPropertiesBySolverOutput(solverOutput);
-        answerSetManager.setPropertiesBySolverOutput(solverOutput);
+        if (answerSetManager instanceof DlvAnswerSetManager) {
+            ((DlvAnswerSetManager) answerSetManager).setPropertiesByDlvOutput(output, result.getSolverStatus());
+        } else {
+            answerSetManager.setPropertiesBySolverOutput(result.getSolverOutput(), result.getSolverStatus());
+        }
     }
 
     /**
@@ -64,4 +77,18 @@ public class DlvAspSolverService implements AspSolverService {
     public String getLogicProgramContent() {
         return this.logicProgramContent;
     }
+
+    /**
+     * Method to access the file which contains the logic program content and which is passed to the solver.
+     * The file is written once and is recreated only if it was removed from the temporary directory.
+     *
+     * @return file which contains the content of the logic program of the solver service instance
+     * @throws IOException if the file cannot be written
+     */
+    private File getLogicProgramFile() throws IOException {
+        if (this.logicProgramFile == null || !this.logicProgramFile.isFile()) {
+            this.logicProgramFile = ResourceHelper.writeTemporaryFile(this.logicProgramContent, ".dl");
+        }
+        return this.logicProgramFile;
+    }
 }
@@ -0,0 +1,146 @@
+package aspguidp.service.core.asp.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Model class which represents the output of the dlv logic program solver.
+ * <p>
+ * The output is partitioned in a single pass over its characters. Text which is enclosed by curly braces on a single
+ * line is treated as answer set, lines which start with 'Cost' are treated as cost lines of the preceding answer set.
+ * All other text (for example: warnings or errors which are written to stderr by dlv) is stored as message. Curly
+ * braces inside of quoted strings do not delimit answer sets.
+ * <p>
+ * Answer sets are not copied out of the solver output. Instead, the start and end offsets of each answer set inside
+ * of the solver output are stored, which enables to extract the text of a single answer set when it is needed.
+ */
+public class DlvOutput {
+    private static final String costLinePrefix = "Cost";
+
+    private final String solverOutput;
+    private final int[] answerSetOffsets;
+    private final List<String> costLines;
+    private final String message;
+
+    private DlvOutput(String solverOutput, int[] answerSetOffsets, List<String> costLines, String message) {
+        this.solverOutput = solverOutput;
+        this.answerSetOffsets = answerSetOffsets;
+        this.costLines = costLines;
+        this.message = message;
+    }
+
+    /**
+     * Create a new output instance from the given solver output.
+     *
+     * @param solverOutput output of the dlv logic program solver
+     * @return output instance for the given solver output
+     */
+    public static DlvOutput fromSolverOutput(String solverOutput) {
+        // start and end offset of each answer set in sequence
+        int[] answerSetOffsets = new int[16];
+        int answerSetCount = 0;
+        List<String> costLines = new ArrayList<>();
+        StringBuilder message = new StringBuilder();
+
+        int lineStart = 0;
+        while (lineStart <= solverOutput.length()) {
+            int lineEnd = solverOutput.indexOf('\n', lineStart);
+            if (lineEnd == -1) lineEnd = solverOutput.length();
+
+            if (solverOutput.startsWith(costLinePrefix, lineStart)) {
+                costLines.add(solverOutput.substring(lineStart, lineEnd).trim());
+            }
+
+            // copy text of the line to the message, except for the answer sets inside of it
+            // lines which consist of answer sets only are not copied to the message
+            int messageLength = message.length();
+            int lineAnswerSetCount = answerSetCount;
+            int textStart = lineStart;
+            int i = lineStart;
+            while (i < lineEnd) {
+                if (solverOutput.charAt(i) != '{') {
+                    i++;
+                    continue;
+                }
+
+                // rest of the line is text if the block is not closed, which keeps the pass linear
+                int blockEnd = findBlockEnd(solverOutput, i, lineEnd);
+                if (blockEnd == -1) break;
+
+                message.append(solverOutput, textStart, i);
+                if (answerSetOffsets.length < 2 * answerSetCount + 2) {
+                    answerSetOffsets = Arrays.copyOf(answerSetOffsets, 2 * answerSetOffsets.length);
+                }
+                answerSetOffsets[2 * answerSetCount] = i + 1;
+                answerSetOffsets[2 * answerSetCount + 1] = blockEnd;
+                answerSetCount++;
+                i = blockEnd + 1;
+                textStart = i;
+            }
+            message.append(solverOutput, textStart, lineEnd);
+
+            boolean isAnswerSetLine = answerSetCount > lineAnswerSetCount
+                    && message.substring(messageLength).trim().isEmpty();
+            if (isAnswerSetLine) message.setLength(messageLength);
+            else if (lineEnd < solverOutput.length()) message.append('\n');
+            lineStart = lineEnd + 1;
+        }
+
+        answerSetOffsets = Arrays.copyOf(answerSetOffsets, 2 * answerSetCount);
+        return new DlvOutput(solverOutput, answerSetOffsets, costLines, message.toString().trim());
+    }
+
+    /**
+     * @param s          solver output which contains the block
+     * @param blockStart index of the opening curly brace of the block
+     * @param lineEnd    index of the end of the line which contains the block
+     * @return index of the closing curly brace of the block. -1, if the block is not closed on the same line
+     */
+    private static int findBlockEnd(String s, int blockStart, int lineEnd) {
+        boolean inString = false;
+        for (int i = blockStart + 1; i < lineEnd; i++) {
+            char c = s.charAt(i);
+            if (inString && c == '\\') i++;
+            else if (c == '"') inString = !inString;
+            else if (!inString && c == '}') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true, if the solver output consists of whitespace only
+     */
+    public boolean isEmpty() {
+        return this.solverOutput.trim().isEmpty();
+    }
+
+    /**
+     * @return number of answer sets of the output
+     */
+    public int getAnswerSetCount() {
+        return this.answerSetOffsets.length / 2;
+    }
+
+    /**
+     * @param index index of the answer set
+     * @return string representation of the answer set with the given index, without the enclosing curly braces
+     */
+    public String getAnswerSet(int index) {
+        return this.solverOutput.substring(this.answerSetOffsets[2 * index], this.answerSetOffsets[2 * index + 1]);
+    }
+
+    /**
+     * @return cost lines of the output, which are written by dlv for programs with weak constraints
+     */
+    public List<String> getCostLines() {
+        return this.costLines;
+    }
+
+    /**
+     * @return text of the output which is not part of an answer set
+     */
+    public String getMessage() {
+        return this.message;
+    }
+}
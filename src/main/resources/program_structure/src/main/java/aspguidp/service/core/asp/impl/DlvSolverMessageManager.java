@@ -1,14 +1,11 @@
 package aspguidp.service.core.asp.impl;
 
-import aspguidp.helper.PatternHelper;
+import aspguidp.service.core.asp.AspSolverService.SolverStatus;
 import aspguidp.service.core.asp.SolverMessageManager;
 import javafx.beans.property.ReadOnlyStringProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Implementation of the {@link SolverMessageManager} interface which extracts messages from the output of the dlv
  * logic program solver.
@@ -20,13 +17,25 @@ public class DlvSolverMessageManager implements SolverMessageManager {
      * {@inheritDoc}
      */
     @Override
-    public void setPropertiesBySolverOutput(String solverOutput) {
+    public void setPropertiesBySolverOutput(String solverOutput, SolverStatus solverStatus) {
+        this.setPropertiesByDlvOutput(DlvOutput.fromSolverOutput(solverOutput), solverStatus);
+    }
+
+    /**
+     * Set the message property to the message of the given parsed solver output, like
+     * {@link #setPropertiesBySolverOutput(String, SolverStatus)}.
+     *
+     * @param output       parsed output of the dlv logic program solver
+     * @param solverStatus status of the execution of the logic program solver
+     */
+    public void setPropertiesByDlvOutput(DlvOutput output, SolverStatus solverStatus) {
         // extract solver output which is not a valid answer set
-        String remainingOutput = solverOutput;
-        Matcher m = Pattern.compile(PatternHelper.getAnswerSetPattern()).matcher(solverOutput);
-        while (m.find()) remainingOutput = remainingOutput.replaceAll(Pattern.quote(m.group()), "");
+        String message = output.getMessage();
+
+        // prepend status message if solver was stopped
+        if (solverStatus.getMessage() != null) message = (solverStatus.getMessage() + "\n\n" + message).trim();
 
-        if (!remainingOutput.trim().isEmpty()) this.solverMessageProperty.set(remainingOutput.trim());
+        if (!message.isEmpty()) this.solverMessageProperty.set(message);
         else this.solverMessageProperty.set(null);
     }
 
@@ -0,0 +1,301 @@
+package aspguidp.service.core.asp.impl;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal streaming json reader which reads a single json value token by token from a character stream.
+ * <p>
+ * The reader is used to read the json output of logic program solvers ({@link ClingoOutput}) without building
+ * an object tree for the whole output and without using regular expressions. The api follows the pull-parser style
+ * of common json libraries: the caller peeks at the next token and consumes it with the respective method.
+ * <p>
+ * After the top level json value is consumed, the rest of the stream can be accessed as raw text. This enables
+ * the processing of streams, which contain non json text after the json value (for example: messages of the solver).
+ */
+public class JsonStreamReader implements Closeable {
+    private final Reader in;
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+    private Token peekedToken;
+    private int peekedChar = -2;
+    private long position = 0;
+
+    /**
+     * Create a new reader instance which reads a json value from the given character stream.
+     *
+     * @param in character stream from which the json value is read
+     */
+    public JsonStreamReader(Reader in) {
+        this.in = in;
+        this.scopes.push(Scope.EMPTY_DOCUMENT);
+    }
+
+    /**
+     * @return type of the next token of the stream without consuming it
+     * @throws IOException if the stream is not valid json or cannot be read
+     */
+    public Token peek() throws IOException {
+        if (this.peekedToken != null) return this.peekedToken;
+
+        Scope scope = this.scopes.peek();
+        if (scope == Scope.EMPTY_ARRAY || scope == Scope.NONEMPTY_ARRAY) {
+            this.setScope(Scope.NONEMPTY_ARRAY);
+            int c = this.nextNonWhitespace();
+            if (c == ']') return this.peekedToken = Token.END_ARRAY;
+            if (scope == Scope.NONEMPTY_ARRAY) {
+                if (c != ',') throw this.syntaxError("expected ',' or ']'");
+            } else {
+                this.pushBack(c);
+            }
+        } else if (scope == Scope.EMPTY_OBJECT || scope == Scope.NONEMPTY_OBJECT) {
+            this.setScope(Scope.DANGLING_NAME);
+            int c = this.nextNonWhitespace();
+            if (c == '}') return this.peekedToken = Token.END_OBJECT;
+            if (scope == Scope.NONEMPTY_OBJECT) {
+                if (c != ',') throw this.syntaxError("expected ',' or '}'");
+                c = this.nextNonWhitespace();
+            }
+            if (c != '"') throw this.syntaxError("expected name");
+            return this.peekedToken = Token.NAME;
+        } else if (scope == Scope.DANGLING_NAME) {
+            this.setScope(Scope.NONEMPTY_OBJECT);
+            if (this.nextNonWhitespace() != ':') throw this.syntaxError("expected ':'");
+        } else if (scope == Scope.EMPTY_DOCUMENT) {
+            this.setScope(Scope.NONEMPTY_DOCUMENT);
+        } else {
+            // only a single top level value is read, the rest of the stream is accessed as raw text
+            return this.peekedToken = Token.END_DOCUMENT;
+        }
+
+        int c = this.nextNonWhitespace();
+        switch (c) {
+            case '{': return this.peekedToken = Token.BEGIN_OBJECT;
+            case '[': return this.peekedToken = Token.BEGIN_ARRAY;
+            case '"': return this.peekedToken = Token.STRING;
+            case 't': case 'f': this.pushBack(c); return this.peekedToken = Token.BOOLEAN;
+            case 'n': this.pushBack(c); return this.peekedToken = Token.NULL;
+            case -1: throw new EOFException(String.format("unexpected end of json input at position %d", this.position));
+            default:
+                if (c != '-' && (c < '0' || c > '9')) throw this.syntaxError("unexpected character");
+                this.pushBack(c);
+                return this.peekedToken = Token.NUMBER;
+        }
+    }
+
+    /**
+     * @return true, if the current array or object has another element
+     * @throws IOException if the stream is not valid json or cannot be read
+     */
+    public boolean hasNext() throws IOException {
+        Token t = this.peek();
+        return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Consume the beginning of an object from the stream.
+     *
+     * @throws IOException if the next token is not the beginning of an object
+     */
+    public void beginObject() throws IOException {
+        this.consume(Token.BEGIN_OBJECT);
+        this.scopes.push(Scope.EMPTY_OBJECT);
+    }
+
+    /**
+     * Consume the end of the current object from the stream.
+     *
+     * @throws IOException if the next token is not the end of an object
+     */
+    public void endObject() throws IOException {
+        this.consume(Token.END_OBJECT);
+        this.scopes.pop();
+    }
+
+    /**
+     * Consume the beginning of an array from the stream.
+     *
+     * @throws IOException if the next token is not the beginning of an array
+     */
+    public void beginArray() throws IOException {
+        this.consume(Token.BEGIN_ARRAY);
+        this.scopes.push(Scope.EMPTY_ARRAY);
+    }
+
+    /**
+     * Consume the end of the current array from the stream.
+     *
+     * @throws IOException if the next token is not the end of an array
+     */
+    public void endArray() throws IOException {
+        this.consume(Token.END_ARRAY);
+        this.scopes.pop();
+    }
+
+    /**
+     * @return name of the next property of the current object
+     * @throws IOException if the next token is not a property name
+     */
+    public String nextName() throws IOException {
+        this.consume(Token.NAME);
+        return this.readQuoted();
+    }
+
+    /**
+     * Consume the next string, number, boolean or null value and return its string value.
+     *
+     * @return string value of the next primitive value
+     * @throws IOException if the next token is not a primitive value
+     */
+    public String nextString() throws IOException {
+        Token t = this.peek();
+        if (t == Token.STRING) {
+            this.peekedToken = null;
+            return this.readQuoted();
+        }
+        if (t == Token.NUMBER || t == Token.BOOLEAN || t == Token.NULL) {
+            this.peekedToken = null;
+            return this.readLiteral();
+        }
+        throw this.syntaxError("expected primitive value but was " + t);
+    }
+
+    /**
+     * Consume the next value of the stream including all nested values.
+     *
+     * @throws IOException if the stream is not valid json or cannot be read
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            Token t = this.peek();
+            if (t == Token.BEGIN_OBJECT) { this.beginObject(); depth++; }
+            else if (t == Token.BEGIN_ARRAY) { this.beginArray(); depth++; }
+            else if (t == Token.END_OBJECT) { this.endObject(); depth--; }
+            else if (t == Token.END_ARRAY) { this.endArray(); depth--; }
+            else if (t == Token.NAME) { this.nextName(); }
+            else if (t == Token.END_DOCUMENT) { return; }
+            else { this.nextString(); }
+        } while (depth > 0);
+    }
+
+    /**
+     * Read the remaining content of the stream as raw text. This is used to access non json text which follows
+     * the top level json value of the stream.
+     *
+     * @return remaining content of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public String readRemaining() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = this.read()) != -1) sb.append((char) c);
+        return sb.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    private void consume(Token expected) throws IOException {
+        Token t = this.peek();
+        if (t != expected) throw this.syntaxError("expected " + expected + " but was " + t);
+        this.peekedToken = null;
+    }
+
+    private void setScope(Scope scope) {
+        this.scopes.pop();
+        this.scopes.push(scope);
+    }
+
+    private String readQuoted() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = this.read();
+            if (c == -1) throw new EOFException("unterminated json string");
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+
+            int escaped = this.read();
+            switch (escaped) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    int codePoint = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(this.read(), 16);
+                        if (digit < 0) throw this.syntaxError("invalid unicode escape");
+                        codePoint = codePoint * 16 + digit;
+                    }
+                    sb.append((char) codePoint);
+                    break;
+                case -1: throw new EOFException("unterminated json string");
+                default: sb.append((char) escaped);
+            }
+        }
+    }
+
+    private String readLiteral() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = this.read()) != -1) {
+            if (c == ',' || c == ']' || c == '}' || Character.isWhitespace(c)) {
+                this.pushBack(c);
+                break;
+            }
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c;
+        do { c = this.read(); } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (this.peekedChar != -2) {
+            int c = this.peekedChar;
+            this.peekedChar = -2;
+            return c;
+        }
+        this.position++;
+        return this.in.read();
+    }
+
+    private void pushBack(int c) {
+        this.peekedChar = c;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(String.format("malformed json at position %d: %s", this.position, message));
+    }
+
+    /**
+     * Enum which represents the type of a token of a json stream.
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    /**
+     * Enum which represents the nesting scope the reader is currently positioned in.
+     */
+    private enum Scope {
+        EMPTY_DOCUMENT, NONEMPTY_DOCUMENT, EMPTY_OBJECT, NONEMPTY_OBJECT, DANGLING_NAME, EMPTY_ARRAY, NONEMPTY_ARRAY
+    }
+}
@@ -0,0 +1,69 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.atom.Atom;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Unmodifiable list implementation which parses answer sets lazily.
+ * <p>
+ * The list does not store any atom instances initially. An answer set is parsed by the given parser function the first
+ * time it is accessed. Parsed answer sets are cached, the cache is bounded by the given cache size and evicts answer
+ * sets in least recently used order. An evicted answer set is parsed again on its next access.
+ * <p>
+ * This enables to display the first answer set of a large solver output without parsing all answer sets of the
+ * output, as usually only a few answer sets are displayed by the user.
+ */
+public class LazyAnswerSetList extends AbstractList<List<Atom>> {
+    private final int size;
+    private final IntFunction<List<Atom>> answerSetParser;
+    private final Map<Integer, List<Atom>> parsedAnswerSets;
+
+    /**
+     * Create a new answer set list with the given size, which uses the given function to parse answer sets.
+     *
+     * @param size            number of answer sets of the list
+     * @param answerSetParser function which parses the answer set with the given index
+     * @param maxCacheSize    maximum number of parsed answer sets which are cached
+     */
+    public LazyAnswerSetList(int size, IntFunction<List<Atom>> answerSetParser, int maxCacheSize) {
+        this.size = size;
+        this.answerSetParser = answerSetParser;
+        this.parsedAnswerSets = new LinkedHashMap<Integer, List<Atom>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Atom>> eldest) {
+                return this.size() > maxCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Get the answer set with the given index. If the answer set is not cached, it is parsed and added to the cache.
+     *
+     * @param index index of the answer set
+     * @return atoms of the answer set with the given index
+     */
+    @Override
+    public synchronized List<Atom> get(int index) {
+        if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+
+        List<Atom> answerSet = this.parsedAnswerSets.get(index);
+        if (answerSet == null) {
+            answerSet = this.answerSetParser.apply(index);
+            this.parsedAnswerSets.put(index, answerSet);
+        }
+        return answerSet;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
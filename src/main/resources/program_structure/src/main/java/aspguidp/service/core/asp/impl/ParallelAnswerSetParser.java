@@ -0,0 +1,90 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.atom.Atom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Parser class which parses the answer sets of a solver output in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The answer sets are parsed in chunks, to bound the number of parsed answer sets which are held in memory before they
+ * are added to the answer set list (for example: a {@link CompactAnswerSetList}). Each chunk is split recursively
+ * across the threads of the pool. The parsed answer sets are added to the answer set list in the order of their
+ * indices.
+ */
+public class ParallelAnswerSetParser {
+    private static final int chunkSize = 4096;
+    private static final int splitThreshold = 64;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new parser instance which parses answer sets on the given pool.
+     *
+     * @param pool pool on which the answer sets are parsed
+     */
+    public ParallelAnswerSetParser(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parse the answer sets with the indices from 0 to the given answer set count with the given parser function and
+     * add them to the given list in the order of their indices.
+     * The given parser function must be safe to be called concurrently.
+     *
+     * @param answerSetCount  number of answer sets which are parsed
+     * @param answerSetParser function which parses the answer set with the given index
+     * @param answerSets      list to which the parsed answer sets are added
+     */
+    public void parseAnswerSets(int answerSetCount, IntFunction<List<Atom>> answerSetParser, List<List<Atom>> answerSets) {
+        for (int chunkStart = 0; chunkStart < answerSetCount; chunkStart += chunkSize) {
+            int chunkEnd = Math.min(answerSetCount, chunkStart + chunkSize);
+
+            List<List<Atom>> parsedChunk = new ArrayList<>(Collections.nCopies(chunkEnd - chunkStart, null));
+            this.pool.invoke(new ParseAction(answerSetParser, parsedChunk, chunkStart, 0, parsedChunk.size()));
+
+            answerSets.addAll(parsedChunk);
+        }
+    }
+
+    /**
+     * Action which parses a range of answer sets of a chunk. The range is split in halves until it is smaller than
+     * the split threshold.
+     */
+    private static class ParseAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntFunction<List<Atom>> answerSetParser;
+        private final List<List<Atom>> parsedChunk;
+        private final int chunkStart;
+        private final int from;
+        private final int to;
+
+        ParseAction(IntFunction<List<Atom>> answerSetParser, List<List<Atom>> parsedChunk, int chunkStart, int from, int to) {
+            this.answerSetParser = answerSetParser;
+            this.parsedChunk = parsedChunk;
+            this.chunkStart = chunkStart;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= splitThreshold) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.parsedChunk.set(i, this.answerSetParser.apply(this.chunkStart + i));
+                }
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new ParseAction(this.answerSetParser, this.parsedChunk, this.chunkStart, this.from, middle),
+                    new ParseAction(this.answerSetParser, this.parsedChunk, this.chunkStart, middle, this.to));
+        }
+    }
+}
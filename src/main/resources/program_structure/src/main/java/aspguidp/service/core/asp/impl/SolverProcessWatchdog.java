@@ -0,0 +1,213 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.helper.AtomHelper;
+import aspguidp.service.core.asp.AspSolverService.SolverStatus;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog class which executes logic program solver processes with a wall-clock time limit and a memory limit.
+ * <p>
+ * The output of the solver process is collected while the process is running. If the process exceeds the time limit,
+ * it is asked to terminate and is killed if it does not terminate within a short grace period. The output which was
+ * written by the process until then is returned, which enables to display the answer sets which were found so far.
+ * <p>
+ * On linux, the memory limit is enforced by executing the solver process inside a shell which limits the virtual
+ * memory of the process ('ulimit -v'). On other operating systems, the memory limit is ignored.
+ * <p>
+ * Instances of this class are used by the {@link aspguidp.service.core.asp.AspSolverService} implementations of the
+ * application ({@link DlvAspSolverService}, {@link ClingoAspSolverService}).
+ */
+public class SolverProcessWatchdog {
+    private static final long terminationGracePeriodSeconds = 2;
+
+    private final long timeLimitSeconds;
+    private final long memoryLimitMegabytes;
+
+    /**
+     * Create a new watchdog instance with the given limits.
+     *
+     * @param timeLimitSeconds     wall-clock time limit of solver processes in seconds. 0, if no time limit is used
+     * @param memoryLimitMegabytes memory limit of solver processes in megabytes. 0, if no memory limit is used
+     */
+    public SolverProcessWatchdog(long timeLimitSeconds, long memoryLimitMegabytes) {
+        this.timeLimitSeconds = timeLimitSeconds;
+        this.memoryLimitMegabytes = memoryLimitMegabytes;
+    }
+
+    /**
+     * Execute the given solver command, write the program code of the given atoms to the stdin of the solver process
+     * and collect the output of the process while minding the limits of the watchdog instance.
+     *
+     * @param command    solver command which is executed
+     * @param inputAtoms atoms which are written to the stdin of the solver process
+     * @return result of the execution which contains the output of the solver process and the solver status
+     * @throws IOException if the solver process cannot be started or the input atoms cannot be written
+     */
+    public Result execute(List<String> command, Collection<Atom> inputAtoms) throws IOException {
+        Process p = new ProcessBuilder(this.getLimitedCommand(command)).start();
+
+        // collect output in background, to avoid blocking the solver on full output buffers
+        StreamCollector stdoutCollector = new StreamCollector(p.getInputStream());
+        StreamCollector stderrCollector = new StreamCollector(p.getErrorStream());
+        stdoutCollector.start();
+        stderrCollector.start();
+
+        // write input atoms, a solver which stopped early closes its stdin
+        try (Writer stdinWriter = new BufferedWriter(new OutputStreamWriter(p.getOutputStream(), StandardCharsets.UTF_8))) {
+            AtomHelper.writeProgramCode(inputAtoms, stdinWriter);
+        } catch (IOException e) {
+            if (p.isAlive()) throw e;
+        }
+
+        SolverStatus status = SolverStatus.COMPLETED;
+        try {
+            if (!this.waitForProcess(p)) {
+                status = SolverStatus.TIME_LIMIT_EXCEEDED;
+                p.destroy();
+                if (!p.waitFor(terminationGracePeriodSeconds, TimeUnit.SECONDS)) p.destroyForcibly().waitFor();
+            }
+
+            // child processes of a killed solver may keep the output streams open, do not wait for them
+            if (status == SolverStatus.COMPLETED) {
+                stdoutCollector.join();
+                stderrCollector.join();
+            } else {
+                long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(terminationGracePeriodSeconds);
+                stdoutCollector.join(terminationGracePeriodSeconds * 1000);
+                stderrCollector.join(Math.max(1, deadline - System.currentTimeMillis()));
+            }
+        } catch (InterruptedException e) {
+            p.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("solver execution was interrupted");
+        }
+
+        String stderrContent = stderrCollector.getContent();
+        if (status == SolverStatus.COMPLETED && this.exceededMemoryLimit(p.exitValue(), stderrContent)) {
+            status = SolverStatus.MEMORY_LIMIT_EXCEEDED;
+        }
+
+        return new Result(stdoutCollector.getContent(), stderrContent, status);
+    }
+
+    /**
+     * Wait until the given process terminates or the time limit of the watchdog instance is exceeded.
+     *
+     * @param p process which is waited for
+     * @return true, if the process terminated within the time limit
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    private boolean waitForProcess(Process p) throws InterruptedException {
+        if (this.timeLimitSeconds <= 0) {
+            p.waitFor();
+            return true;
+        }
+        return p.waitFor(this.timeLimitSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param exitValue     exit value of the terminated solver process
+     * @param stderrContent error output of the terminated solver process
+     * @return true, if a memory limit is set and the solver process seems to have been stopped because of it
+     */
+    private boolean exceededMemoryLimit(int exitValue, String stderrContent) {
+        if (this.memoryLimitMegabytes <= 0 || exitValue == 0) return false;
+
+        // exit values above 128 signal a termination by a signal (for example: a segfault on failed allocation)
+        String lowerCaseContent = stderrContent.toLowerCase();
+        return exitValue > 128 || lowerCaseContent.contains("memory") || lowerCaseContent.contains("bad_alloc");
+    }
+
+    /**
+     * @param command solver command which is executed
+     * @return command which executes the given solver command with the memory limit of the watchdog instance
+     */
+    private List<String> getLimitedCommand(List<String> command) {
+        boolean isLinux = System.getProperty("os.name", "").toLowerCase().contains("linux");
+        if (this.memoryLimitMegabytes <= 0 || !isLinux) return command;
+
+        // execute command in shell with limited virtual memory, 'exec' replaces the shell by the solver process
+        List<String> limitedCommand = new ArrayList<>();
+        limitedCommand.add("sh");
+        limitedCommand.add("-c");
+        limitedCommand.add(String.format("ulimit -v %d && exec \"$@\"", this.memoryLimitMegabytes * 1024));
+        limitedCommand.add("sh");
+        limitedCommand.addAll(command);
+        return limitedCommand;
+    }
+
+    /**
+     * Model class which represents the result of the execution of a solver process.
+     */
+    public static class Result {
+        private final String stdoutContent;
+        private final String stderrContent;
+        private final SolverStatus solverStatus;
+
+        /**
+         * Create a new result instance with the given output and status.
+         *
+         * @param stdoutContent standard output of the solver process
+         * @param stderrContent error output of the solver process
+         * @param solverStatus  status of the execution of the solver process
+         */
+        public Result(String stdoutContent, String stderrContent, SolverStatus solverStatus) {
+            this.stdoutContent = stdoutContent;
+            this.stderrContent = stderrContent;
+            this.solverStatus = solverStatus;
+        }
+
+        public String getStdoutContent() {
+            return this.stdoutContent;
+        }
+
+        public String getStderrContent() {
+            return this.stderrContent;
+        }
+
+        public SolverStatus getSolverStatus() {
+            return this.solverStatus;
+        }
+    }
+
+    /**
+     * Thread which reads the lines of the given stream until the end of the stream is reached.
+     */
+    private static class StreamCollector extends Thread {
+        private final InputStream stream;
+        private final List<String> lines = new ArrayList<>();
+
+        StreamCollector(InputStream stream) {
+            this.stream = stream;
+            this.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(this.stream));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    synchronized (this.lines) {
+                        this.lines.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                // stream is closed when the process is killed, keep lines which were read until then
+            }
+        }
+
+        String getContent() {
+            synchronized (this.lines) {
+                return String.join("\n", this.lines);
+            }
+        }
+    }
+}
@@ -14,6 +14,14 @@ import java.util.Collection;
  * Therefore, when the currently displayed answer set is changed by the
  * {@link aspguidp.controller.output.ProgramOutputController} instance of the application, the atoms of the answer set
  * are passed to the output components.
+ * <p>
+ * Atom consumers can additionally apply changes incrementally. In this case, the atom hub passes the atoms which were
+ * added and removed since the atoms were last set to the atom consumer.
+ * <p>
+ * Setting atoms to an atom consumer is split into a prepare phase and an apply phase. The prepare phase processes the
+ * atoms (for example: converts them into entities) and may be executed on a worker thread in parallel to the prepare
+ * phases of other atom consumers. It must not modify observable state of the application. The apply phase is executed
+ * afterwards on the thread which set the atoms to the atom hub, usually the JavaFX application thread.
  */
 public interface AtomConsumer {
     /**
@@ -22,4 +30,47 @@ public interface AtomConsumer {
      * @param atomCollection collection of atoms which should be set to the atom consumer
      */
     void setAtoms(Collection<Atom> atomCollection);
+
+    /**
+     * Method which is called by the atom hub, if the set atoms to consumers method of the atom hub is called and the
+     * atom consumer already received atoms from the atom hub. The given collections of added and removed atoms contain
+     * the difference between the given collection of atoms and the atoms which were last passed to the atom consumer.
+     * <p>
+     * The default implementation replaces all atoms of the atom consumer by calling the set atoms method.
+     *
+     * @param atomCollection collection of atoms which should be set to the atom consumer
+     * @param addedAtoms     atoms of the given collection which were not passed to the atom consumer before
+     * @param removedAtoms   atoms which were passed to the atom consumer before and are not part of the given collection
+     */
+    default void updateAtoms(Collection<Atom> atomCollection, Collection<Atom> addedAtoms, Collection<Atom> removedAtoms) {
+        this.setAtoms(atomCollection);
+    }
+
+    /**
+     * Prepare setting the given collection of atoms to the atom consumer. This method may be called on a worker thread.
+     * <p>
+     * The default implementation does not prepare anything and calls the set atoms method in the apply phase.
+     *
+     * @param atomCollection collection of atoms which should be set to the atom consumer
+     * @return runnable which applies the prepared atoms to the atom consumer
+     */
+    default Runnable prepareSetAtoms(Collection<Atom> atomCollection) {
+        return () -> this.setAtoms(atomCollection);
+    }
+
+    /**
+     * Prepare updating the atom consumer with the given added and removed atoms. This method may be called on a worker
+     * thread.
+     * <p>
+     * The default implementation does not prepare anything and calls the update atoms method in the apply phase.
+     *
+     * @param atomCollection collection of atoms which should be set to the atom consumer
+     * @param addedAtoms     atoms of the given collection which were not passed to the atom consumer before
+     * @param removedAtoms   atoms which were passed to the atom consumer before and are not part of the given collection
+     * @return runnable which applies the prepared update to the atom consumer
+     */
+    default Runnable prepareUpdateAtoms(Collection<Atom> atomCollection, Collection<Atom> addedAtoms,
+                                        Collection<Atom> removedAtoms) {
+        return () -> this.updateAtoms(atomCollection, addedAtoms, removedAtoms);
+    }
 }
@@ -0,0 +1,23 @@
+package aspguidp.service.core.atom;
+
+import java.util.List;
+
+/**
+ * Interface for an atom factory.
+ * <p>
+ * Atom factories are used to create {@link Atom} instances from a predicate name and a list of arguments. For example,
+ * this functionality is used when atoms are read from the output of the logic program solver or from a problem
+ * instance file.
+ * <p>
+ * Usually, only one atom factory instance is used in the application.
+ */
+public interface AtomFactory {
+    /**
+     * Create an atom with the given predicate name and list of arguments.
+     *
+     * @param predicateName predicate name of the atom
+     * @param arguments     list of arguments of the atom
+     * @return atom with the given predicate name and list of arguments
+     */
+    Atom createAtom(String predicateName, List<String> arguments);
+}
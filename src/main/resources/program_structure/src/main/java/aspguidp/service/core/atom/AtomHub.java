@@ -27,6 +27,10 @@ import java.util.Collection;
  * hub ({@link aspguidp.controller.output.element.OutputElementController}, {@link aspguidp.service.data.manager.DataManager}).
  * So when the currently displayed answer set by the output controller, the atoms of the answer set are passed to the
  * data managers of the output components.
+ * <p>
+ * Atom consumers can be registered with a predicate name and an arity. Such consumers only receive the atoms with the
+ * respective predicate name and arity, which enables the atom hub to route atoms to consumers by an index instead of
+ * passing every atom to every consumer.
  */
 public interface AtomHub {
     /**
@@ -44,6 +48,33 @@ public interface AtomHub {
     void registerAtomConsumer(AtomConsumer atomConsumer);
 
     /**
+     * Register an atom consumer to the atom hub instance, which only receives the atoms with the given predicate name
+     * and arity.
+     *
+     * @param atomConsumer  atom consumer which is registered
+     * @param predicateName predicate name of the atoms which are set to the atom consumer
+     * @param arity         arity of the atoms which are set to the atom consumer
+     */
+    void registerAtomConsumer(AtomConsumer atomConsumer, String predicateName, int arity);
+
+    /**
+     * Register an atom consumer to the atom hub instance, which receives the atoms of the registered atom suppliers
+     * instead of the atoms which are set to the consumers.
+     * <p>
+     * When the atoms are requested from the suppliers and the union of the supplied atoms changed since the last
+     * request, the atom consumer is updated with the added and removed atoms
+     * ({@link AtomConsumer#updateAtoms(Collection, Collection, Collection)}). This enables to maintain an index of the
+     * supplied atoms incrementally (for example: the input value index of the application). The atom consumer is
+     * called on the thread which requests the atoms from the suppliers.
+     *
+     * @param atomConsumer atom consumer which is registered
+     */
+    void registerSuppliedAtomConsumer(AtomConsumer atomConsumer);
+
+    /**
+     * The returned collection is unmodifiable and may be shared between calls, as long as none of the registered atom
+     * suppliers was modified.
+     *
      * @return Collection of atoms which contains all atoms which are provided by the registered atom providers of the
      * atom hub instance.
      */
@@ -51,6 +82,10 @@ public interface AtomHub {
 
     /**
      * Set the given collection of atoms to the registered consumers of the atom hub instance.
+     * Consumers which are registered with a predicate name and an arity only receive the respective atoms of the given
+     * collection.
+     * Consumers which already received atoms from the atom hub instance are updated with the atoms which were added
+     * and removed since the last call ({@link AtomConsumer#updateAtoms(Collection, Collection, Collection)}).
      *
      * @param atoms collection of atoms which is set to the registered consumers
      */
@@ -1,6 +1,7 @@
 package aspguidp.service.core.atom;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Interface for an atom supplier.
@@ -13,6 +14,9 @@ import java.util.Collection;
  * ({@link aspguidp.controller.input.element.InputElementController}, {@link aspguidp.service.data.manager.DataManager}).
  * Therefore, when the logic program is executed by the {@link aspguidp.service.core.asp.AspSolverService} instance
  * of the application, the atoms of these data managers are passed as input to the logic program.
+ * <p>
+ * Atom suppliers can expose a modification count, which is changed whenever the supplied atoms change. This enables
+ * the atom hub to reuse the previously supplied atoms of unchanged suppliers.
  */
 public interface AtomSupplier {
     /**
@@ -21,4 +25,39 @@ public interface AtomSupplier {
      * @return collection of atoms which should be supplied by the atom supplier
      */
     Collection<Atom> getAtoms();
+
+    /**
+     * Get the modification count of the atom supplier. The modification count must change whenever the collection of
+     * atoms which is returned by the get atoms method changes.
+     * <p>
+     * The default implementation returns a negative value, which indicates that the atom supplier does not track its
+     * modifications. The atoms of such suppliers are requested by the atom hub on every access.
+     *
+     * @return modification count of the atom supplier, or a negative value if modifications are not tracked
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
+    /**
+     * Create an atom supplier which always supplies the given collection of atoms. The modification count of the
+     * created atom supplier never changes.
+     *
+     * @param atoms collection of atoms which is supplied
+     * @return atom supplier for the given collection of atoms
+     */
+    static AtomSupplier of(Collection<Atom> atoms) {
+        Collection<Atom> suppliedAtoms = Collections.unmodifiableCollection(atoms);
+        return new AtomSupplier() {
+            @Override
+            public Collection<Atom> getAtoms() {
+                return suppliedAtoms;
+            }
+
+            @Override
+            public long getModificationCount() {
+                return 0;
+            }
+        };
+    }
 }
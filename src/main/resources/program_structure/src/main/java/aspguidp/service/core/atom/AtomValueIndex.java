@@ -0,0 +1,29 @@
+package aspguidp.service.core.atom;
+
+import java.util.List;
+
+/**
+ * Interface for an atom value index.
+ * <p>
+ * An atom value index stores the argument values of a collection of atoms by the predicate name of the atoms and the
+ * index of the arguments. This enables to query the values for a predicate value source (for example: 'node[0]')
+ * which start with a given prefix, without iterating over every atom
+ * ({@link aspguidp.helper.ValueSourceHelper}).
+ * <p>
+ * An atom value index is an atom consumer, which is updated with the atoms which were added or removed since the last
+ * update. Usually, the application uses a single value index for the atoms of the input atom hub, which is registered
+ * as supplied atom consumer to the input atom hub ({@link AtomHub#registerSuppliedAtomConsumer(AtomConsumer)}). The
+ * index is used for the validation of the user input and the generation of suggestions.
+ */
+public interface AtomValueIndex extends AtomConsumer {
+    /**
+     * Get the distinct values of the argument with the given index of atoms with the given predicate name, which
+     * start with the given prefix.
+     *
+     * @param predicateName predicate name of the atoms
+     * @param argumentIndex index of the argument of the atoms
+     * @param prefix        string which must be the beginning of returned values
+     * @return sorted list of values which start with the given prefix
+     */
+    List<String> getValues(String predicateName, int argumentIndex, String prefix);
+}
@@ -0,0 +1,28 @@
+package aspguidp.service.core.atom;
+
+import java.util.List;
+
+/**
+ * Interface for a searchable atom value index.
+ * <p>
+ * In addition to the values which start with a given prefix, a searchable atom value index can be queried for values
+ * which contain a given query string anywhere or which are similar to the query string (for example: the query
+ * contains a typo). The returned values are ranked by their relevance for the query.
+ * <p>
+ * Searchable value indexes are used to generate suggestions for fragments of values
+ * ({@link aspguidp.service.input.suggestion.impl.FuzzyTemplateSuggestionService}).
+ */
+public interface SearchableAtomValueIndex extends AtomValueIndex {
+    /**
+     * Search the distinct values of the argument with the given index of atoms with the given predicate name, which
+     * contain the given query or are similar to the given query. Values which contain the query are ranked before
+     * values which are only similar to the query.
+     *
+     * @param predicateName predicate name of the atoms
+     * @param argumentIndex index of the argument of the atoms
+     * @param query         string which is searched in the values
+     * @param limit         maximum number of returned values
+     * @return list of at most the given number of values, ranked by their relevance for the given query
+     */
+    List<String> searchValues(String predicateName, int argumentIndex, String query, int limit);
+}
@@ -0,0 +1,269 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.exception.InvalidAtomRepresentationException;
+import aspguidp.service.core.CoreServicePool;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexer class which reads atoms from their string representation in a single pass over the characters of the input.
+ * <p>
+ * An atom consists of a predicate name (an identifier which starts with a lowercase letter, optionally preceded by a
+ * '-' for classical negation) and an optional list of arguments in parentheses. Supported arguments are identifiers,
+ * quoted strings, integers (including negative integers) and function terms with nested arguments (for example:
+ * 'move(f(a,g(b)),-1,"x")'). Whitespace between arguments is not part of the read arguments.
+ * <p>
+ * The lexer provides static methods to read a single atom, the atoms of an answer set (atoms separated by commas) and
+ * the facts of program code (atoms terminated by a dot). Rules, constraints and comments of program code are skipped.
+ * Atoms are created by the atom factory of the application ({@link CoreServicePool#getAtomFactory()}).
+ */
+public class AtomLexer {
+    private final CharSequence input;
+    private final AtomFactory atomFactory;
+    private int position;
+
+    private AtomLexer(CharSequence input) {
+        this.input = input;
+        this.atomFactory = CoreServicePool.getInstance().getAtomFactory();
+        this.position = 0;
+    }
+
+    /**
+     * Read a single atom from the given string representation. The given string must not contain anything else than
+     * the atom and surrounding whitespace.
+     *
+     * @param stringRepresentation string representation of the atom
+     * @return atom instance for the given string representation
+     * @throws InvalidAtomRepresentationException if the given string is not a valid string representation of an atom
+     */
+    public static Atom readAtom(String stringRepresentation) throws InvalidAtomRepresentationException {
+        AtomLexer lexer = new AtomLexer(stringRepresentation);
+        lexer.skipWhitespace();
+        Atom atom = lexer.nextAtom();
+        lexer.skipWhitespace();
+
+        if (atom == null || !lexer.isAtEnd()) throw new InvalidAtomRepresentationException(stringRepresentation);
+        return atom;
+    }
+
+    /**
+     * Read the atoms of the given answer set string, in which atoms are separated by commas. Parts of the answer set
+     * string which are no valid atoms are skipped.
+     *
+     * @param answerSetString string representation of the answer set, without the enclosing curly braces
+     * @return list of atoms of the given answer set
+     */
+    public static List<Atom> readAnswerSet(CharSequence answerSetString) {
+        AtomLexer lexer = new AtomLexer(answerSetString);
+        List<Atom> atoms = new ArrayList<>();
+        while (true) {
+            lexer.skipWhitespace();
+            if (lexer.isAtEnd()) break;
+
+            Atom atom = lexer.nextAtom();
+            lexer.skipWhitespace();
+            if (atom != null && (lexer.isAtEnd() || lexer.peek() == ',')) atoms.add(atom);
+
+            lexer.skipUntil(',');
+            lexer.position++;
+        }
+        return atoms;
+    }
+
+    /**
+     * Read the facts of the given program code. Statements of the program code which are no facts (for example: rules
+     * or constraints) and comments are skipped.
+     *
+     * @param programCode program code from which the facts are read
+     * @return list of atoms of the facts of the given program code
+     */
+    public static List<Atom> readFacts(CharSequence programCode) {
+        AtomLexer lexer = new AtomLexer(programCode);
+        List<Atom> atoms = new ArrayList<>();
+        while (true) {
+            lexer.skipWhitespaceAndComments();
+            if (lexer.isAtEnd()) break;
+
+            Atom atom = lexer.nextAtom();
+            lexer.skipWhitespace();
+            if (atom != null && lexer.isStatementEnd()) atoms.add(atom);
+
+            lexer.skipUntil('.');
+            lexer.position++;
+        }
+        return atoms;
+    }
+
+    /**
+     * Read an atom at the current position.
+     *
+     * @return atom at the current position. null, if the current position does not start a valid atom
+     */
+    private Atom nextAtom() {
+        boolean isNegated = this.peek() == '-';
+        if (isNegated) this.position++;
+
+        String identifier = this.nextIdentifier();
+        if (identifier == null) return null;
+        String predicateName = (isNegated) ? "-" + identifier : identifier;
+
+        List<String> arguments = new ArrayList<>();
+        if (this.peek() == '(' && !this.nextArguments(arguments)) return null;
+        return this.atomFactory.createAtom(predicateName, arguments);
+    }
+
+    /**
+     * Read a parenthesised, comma separated list of terms at the current position and add the terms to the given list.
+     *
+     * @param arguments list to which the read terms are added
+     * @return true, if a valid list of terms was read
+     */
+    private boolean nextArguments(List<String> arguments) {
+        this.position++; // skip '('
+        while (true) {
+            this.skipWhitespace();
+            String term = this.nextTerm();
+            if (term == null) return false;
+            arguments.add(term);
+
+            this.skipWhitespace();
+            char c = this.peek();
+            this.position++;
+            if (c == ')') return true;
+            if (c != ',') return false;
+        }
+    }
+
+    /**
+     * Read a term (identifier, string, integer or function term) at the current position.
+     *
+     * @return string representation of the term without whitespace. null, if the current position does not start a
+     * valid term
+     */
+    private String nextTerm() {
+        int start = this.position;
+        char c = this.peek();
+
+        if (c == '"') return this.nextString();
+        if (c == '-' || isDigit(c)) return this.nextInteger();
+        if (c != '(' && this.nextIdentifier() == null) return null;
+        String name = this.input.subSequence(start, this.position).toString();
+        if (this.peek() != '(') return name;
+
+        // function term (or tuple, if the name is empty) with nested terms
+        List<String> nestedTerms = new ArrayList<>();
+        if (!this.nextArguments(nestedTerms)) return null;
+        return name + "(" + String.join(",", nestedTerms) + ")";
+    }
+
+    /**
+     * @return identifier at the current position. null, if the current position does not start with a lowercase letter
+     */
+    private String nextIdentifier() {
+        int start = this.position;
+        if (!isLowerCaseLetter(this.peek())) return null;
+
+        this.position++;
+        while (isIdentifierCharacter(this.peek())) this.position++;
+        return this.input.subSequence(start, this.position).toString();
+    }
+
+    /**
+     * @return quoted string (including the quotes) at the current position. null, if the string is not terminated
+     */
+    private String nextString() {
+        int start = this.position;
+        this.position++; // skip opening '"'
+        while (!this.isAtEnd()) {
+            char c = this.input.charAt(this.position++);
+            if (c == '\\') this.position++;
+            else if (c == '"') return this.input.subSequence(start, this.position).toString();
+        }
+        return null;
+    }
+
+    /**
+     * @return integer (optionally preceded by '-') at the current position. null, if there are no digits
+     */
+    private String nextInteger() {
+        int start = this.position;
+        if (this.peek() == '-') this.position++;
+
+        int digitsStart = this.position;
+        while (isDigit(this.peek())) this.position++;
+        if (this.position == digitsStart) return null;
+        return this.input.subSequence(start, this.position).toString();
+    }
+
+    /**
+     * @return true, if the current position is a dot which terminates a statement (and not part of a range '..')
+     */
+    private boolean isStatementEnd() {
+        return this.peek() == '.' && this.peek(1) != '.';
+    }
+
+    /**
+     * Move the current position forward to the next occurrence of the given separator, which is not part of a quoted
+     * string or a range ('..'). If there is no such occurrence, the position is moved to the end of the input.
+     *
+     * @param separator separator character
+     */
+    private void skipUntil(char separator) {
+        while (!this.isAtEnd()) {
+            char c = this.peek();
+            if (c == '"' && this.nextString() != null) continue;
+            if (c == '.' && this.peek(1) == '.') {
+                this.position += 2;
+                continue;
+            }
+            if (c == separator) return;
+            this.position++;
+        }
+    }
+
+    /**
+     * Move the current position forward to the next character which is not whitespace.
+     */
+    private void skipWhitespace() {
+        while (!this.isAtEnd() && Character.isWhitespace(this.peek())) this.position++;
+    }
+
+    /**
+     * Move the current position forward to the next character which is neither whitespace nor part of a line comment.
+     */
+    private void skipWhitespaceAndComments() {
+        this.skipWhitespace();
+        while (this.peek() == '%') {
+            while (!this.isAtEnd() && this.peek() != '\n') this.position++;
+            this.skipWhitespace();
+        }
+    }
+
+    private boolean isAtEnd() {
+        return this.position >= this.input.length();
+    }
+
+    private char peek() {
+        return this.peek(0);
+    }
+
+    private char peek(int offset) {
+        int index = this.position + offset;
+        return (index < this.input.length()) ? this.input.charAt(index) : '\0';
+    }
+
+    private static boolean isLowerCaseLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,64 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomConsumer;
+import javafx.application.Platform;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of the {@link aspguidp.service.core.atom.AtomHub} interface which can be used by background threads,
+ * for example by a logic program solver or a problem instance loader which runs outside of the JavaFX application
+ * thread.
+ * <p>
+ * Atoms which are set to the consumers from a background thread are copied into an immutable snapshot, which is
+ * prepared for the registered {@link AtomConsumer} instances on the background thread (for example: the conversion of
+ * atoms to entities). The prepared atoms are applied to the consumers on the JavaFX application thread afterwards. If
+ * several snapshots are prepared before the JavaFX application thread applies them, only the latest snapshot is
+ * applied in a single pulse. Atoms which are set on the JavaFX application thread are delivered immediately.
+ * <p>
+ * The background thread does not wait until the atoms were applied. If the consumers received other atoms before the
+ * prepared atoms are applied, the atoms are prepared again on the JavaFX application thread
+ * ({@link SimpleAtomHub#prepareAtomsToConsumers(Collection)}).
+ */
+public class ConcurrentAtomHub extends SimpleAtomHub {
+    private final AtomicReference<Runnable> pendingApplication = new AtomicReference<>();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this method is not called on the JavaFX application thread, the consumers are prepared on the calling thread
+     * and the prepared atoms are applied on the JavaFX application thread later on.
+     */
+    @Override
+    public void setAtomsToConsumers(Collection<Atom> atoms) {
+        if (Platform.isFxApplicationThread()) {
+            // pending applications of background threads are older than the given atoms
+            this.pendingApplication.set(null);
+            super.setAtomsToConsumers(atoms);
+            return;
+        }
+
+        // the atoms are copied into a snapshot, which is never modified, while they are prepared
+        Runnable application = this.prepareAtomsToConsumers(atoms);
+
+        // only schedule a new pulse if there is no pending application, otherwise the pending application is replaced
+        if (this.pendingApplication.getAndSet(application) != null) return;
+        try {
+            Platform.runLater(this::applyPendingAtoms);
+        } catch (IllegalStateException e) {
+            // the javafx toolkit is not running anymore, therefore the atoms cannot be applied
+            this.pendingApplication.set(null);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Apply the pending prepared atoms to the consumers. This method is called on the JavaFX application thread.
+     */
+    private void applyPendingAtoms() {
+        Runnable application = this.pendingApplication.getAndSet(null);
+        if (application != null) application.run();
+    }
+}
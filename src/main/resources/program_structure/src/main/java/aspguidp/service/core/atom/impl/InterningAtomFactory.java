@@ -0,0 +1,87 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomFactory;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation of the {@link AtomFactory} interface which interns the created atoms.
+ * <p>
+ * Equal atoms which are created by the same factory instance share a single {@link SimpleAtom} instance, which
+ * reduces the memory usage and enables the comparison of atoms by reference in most cases. Interned atoms are
+ * referenced weakly, atoms which are no longer used by the application are removed from the factory after they were
+ * collected by the garbage collector.
+ * <p>
+ * The interned atoms are stored in a concurrent map, which is keyed by a separate atom instance with the same predicate
+ * name and arguments. The methods of this class are safe to be called concurrently and do not block each other.
+ */
+public class InterningAtomFactory implements AtomFactory {
+    private final ConcurrentMap<SimpleAtom, AtomReference> internedAtoms = new ConcurrentHashMap<>();
+    private final ReferenceQueue<SimpleAtom> collectedAtoms = new ReferenceQueue<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Atom createAtom(String predicateName, List<String> arguments) {
+        this.removeCollectedAtoms();
+
+        SimpleAtom key = new SimpleAtom(predicateName, arguments);
+        SimpleAtom internedAtom = this.getInternedAtom(this.internedAtoms.get(key));
+        if (internedAtom != null) return internedAtom;
+
+        // the interned atom and its key share the predicate name and the argument strings
+        SimpleAtom atom = new SimpleAtom(key.getPredicateName(), key.getArguments());
+        AtomReference atomReference = new AtomReference(key, atom, this.collectedAtoms);
+        while (true) {
+            AtomReference previousReference = this.internedAtoms.putIfAbsent(key, atomReference);
+            if (previousReference == null) return atom;
+
+            internedAtom = this.getInternedAtom(previousReference);
+            if (internedAtom != null) return internedAtom;
+            if (this.internedAtoms.replace(key, previousReference, atomReference)) return atom;
+        }
+    }
+
+    /**
+     * @param atomReference reference to an interned atom or null
+     * @return interned atom or null, if there is no reference or the atom was collected
+     */
+    private SimpleAtom getInternedAtom(AtomReference atomReference) {
+        return (atomReference != null) ? atomReference.get() : null;
+    }
+
+    /**
+     * Remove the entries of all atoms, which were collected by the garbage collector, from the map of interned atoms.
+     */
+    private void removeCollectedAtoms() {
+        Reference<? extends SimpleAtom> reference;
+        while ((reference = this.collectedAtoms.poll()) != null) {
+            AtomReference atomReference = (AtomReference) reference;
+            this.internedAtoms.remove(atomReference.key, atomReference);
+        }
+    }
+
+    /**
+     * Weak reference to an interned atom, which knows the key of its entry in the map of interned atoms.
+     */
+    private static class AtomReference extends WeakReference<SimpleAtom> {
+        private final SimpleAtom key;
+
+        /**
+         * @param key   key of the entry of the interned atom
+         * @param atom  interned atom which is referenced
+         * @param queue queue to which the reference is added after the atom was collected
+         */
+        AtomReference(SimpleAtom key, SimpleAtom atom, ReferenceQueue<SimpleAtom> queue) {
+            super(atom, queue);
+            this.key = key;
+        }
+    }
+}
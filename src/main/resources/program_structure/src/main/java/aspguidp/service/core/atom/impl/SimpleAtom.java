@@ -1,41 +1,47 @@
 package aspguidp.service.core.atom.impl;
 
 import aspguidp.exception.InvalidAtomRepresentationException;
-import aspguidp.helper.PatternHelper;
 import aspguidp.service.core.atom.Atom;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Basic implementation of the {@link Atom} interface which allows the creation of an atom instance by a raw predicate
- * name and a raw list of arguments.
+ * Basic immutable implementation of the {@link Atom} interface which allows the creation of an atom instance by a raw
+ * predicate name and a raw list of arguments.
+ * <p>
+ * The hash code of an atom instance is computed on creation and the string representation is cached on first
+ * access. Usually, atom instances are created by an {@link InterningAtomFactory}, which enables the comparison of
+ * equal atoms by reference.
  * <p>
  * Additionally, this class provides a static method to create an atom instance from the string representation of an
  * atom.
  */
 public class SimpleAtom implements Atom {
-    private static final Pattern atomPattern = Pattern.compile(PatternHelper.getAtomPattern());
-    private static final Pattern argumentPattern = Pattern.compile(PatternHelper.getValuePattern());
-
     private final String predicateName;
     private final List<String> arguments;
+    private final int hashCode;
+    private String stringRepresentation;
 
     /**
-     * Create a new atom instance with the given predicate name and list of arguments
+     * Create a new atom instance with the given predicate name and list of arguments. The given list of arguments is
+     * copied.
      *
      * @param predicateName predicate name of the created atom instance
      * @param arguments     list of arguments of the created atom instance
      */
     public SimpleAtom(String predicateName, List<String> arguments) {
         this.predicateName = predicateName;
-        this.arguments = arguments;
+        this.arguments = (arguments != null && !arguments.isEmpty())
+                ? Collections.unmodifiableList(Arrays.asList(arguments.toArray(new String[arguments.size()])))
+                : Collections.emptyList();
+        this.hashCode = 31 * predicateName.hashCode() + this.arguments.hashCode();
     }
 
     /**
-     * Create a new atom instance from the string representation of an atom.
+     * Create a new atom instance from the string representation of an atom. The string representation is read by an
+     * {@link AtomLexer}.
      *
      * @param stringRepresentation string representation from which the atom is extracted
      * @return atom instance for the given string representation of an atom
@@ -43,16 +49,7 @@ public class SimpleAtom implements Atom {
      *                                            representation
      */
     public static Atom fromStringRepresentation(String stringRepresentation) throws InvalidAtomRepresentationException {
-        Matcher atomMatcher = atomPattern.matcher(stringRepresentation);
-        if (!atomMatcher.matches()) throw new InvalidAtomRepresentationException(stringRepresentation);
-        String predicateName = atomMatcher.group(1);
-        String termString = (atomMatcher.group(2) != null) ? atomMatcher.group(2) : "";
-
-        List<String> arguments = new ArrayList<>();
-        Matcher argumentMatcher = argumentPattern.matcher(termString);
-        while (argumentMatcher.find()) arguments.add(argumentMatcher.group(0));
-
-        return new SimpleAtom(predicateName, arguments);
+        return AtomLexer.readAtom(stringRepresentation);
     }
 
     /**
@@ -76,7 +73,7 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public Integer getArity() {
-        return (this.arguments != null && !this.arguments.isEmpty()) ? this.arguments.size() : 0;
+        return this.arguments.size();
     }
 
     /**
@@ -84,9 +81,12 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public String getStringRepresentation() {
-        Boolean hasArguments = this.arguments != null && !this.arguments.isEmpty();
-        String argumentsString = (hasArguments) ? "(" + String.join(",", this.arguments) + ")" : "";
-        return this.predicateName + argumentsString;
+        // racy single-check caching is safe, as the computed string is always equal
+        if (this.stringRepresentation == null) {
+            String argumentsString = (!this.arguments.isEmpty()) ? "(" + String.join(",", this.arguments) + ")" : "";
+            this.stringRepresentation = this.predicateName + argumentsString;
+        }
+        return this.stringRepresentation;
     }
 
     /**
@@ -94,13 +94,13 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public boolean equals(Object obj) {
-        if (!(obj instanceof SimpleAtom)) return false;
         if (obj == this) return true;
+        if (!(obj instanceof SimpleAtom)) return false;
 
-        Atom o = (Atom) obj;
-        if (!o.getPredicateName().equals(this.getPredicateName())) return false;
-        if (!o.getArguments().equals(this.getArguments())) return false;
-        if (!o.getStringRepresentation().equals(this.getStringRepresentation())) return false;
+        SimpleAtom o = (SimpleAtom) obj;
+        if (o.hashCode != this.hashCode) return false;
+        if (!o.predicateName.equals(this.predicateName)) return false;
+        if (!o.arguments.equals(this.arguments)) return false;
 
         return true;
     }
@@ -110,6 +110,6 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public int hashCode() {
-        return this.predicateName.hashCode() + this.arguments.hashCode();
+        return this.hashCode;
     }
 }
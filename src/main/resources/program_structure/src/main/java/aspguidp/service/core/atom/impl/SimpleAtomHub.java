@@ -6,21 +6,68 @@ import aspguidp.service.core.atom.AtomHub;
 import aspguidp.service.core.atom.AtomSupplier;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
- * Basic implementation of the {@link AtomHub} interface which uses array lists to store registered {@link AtomSupplier}
- * instances and registered {@link AtomConsumer} instances.
+ * Basic implementation of the {@link AtomHub} interface which uses copy-on-write lists to store registered
+ * {@link AtomSupplier} instances and registered {@link AtomConsumer} instances.
+ * <p>
+ * If atoms are set to the consumers, the atoms are indexed by their predicate name and arity once. Consumers which
+ * are registered with a predicate name and an arity receive the respective atoms from this index.
+ * <p>
+ * The atoms of the registered suppliers are cached together with the modification count of the suppliers. When the
+ * atoms are requested from the suppliers, only the suppliers which were modified since the last request are queried
+ * again. The atoms of a modified supplier are compared with its cached atoms, and the number of suppliers which supply
+ * each atom is counted. This yields the atoms which were added to and removed from the union of the supplied atoms,
+ * which is only rebuilt if it changed. The added and removed atoms are passed to the registered supplied atom consumers
+ * (for example: the input value index of the application).
+ * <p>
+ * The atoms which were last set to the consumers are kept, to compute the added and removed atoms for each consumer
+ * on the next call of the set atoms to consumers method. If the atoms could not be prepared for or applied to a
+ * consumer, the consumer receives all atoms again on the next call instead of the added and removed atoms.
+ * <p>
+ * The consumers are prepared in parallel on the common fork-join pool. The prepared atoms are applied to the consumers
+ * afterwards in the order of their registration on the calling thread. Subclasses can separate both phases, the
+ * application is skipped and the atoms are set again, if the consumers received other atoms in the meantime.
+ * <p>
+ * Suppliers and consumers can be registered from any thread, as they are stored in copy-on-write lists. The cached
+ * supplier atoms and the delivery state of the consumers are guarded by locks of the hub, the lock of the consumers is
+ * not held while the consumers are prepared on a background thread. However, atoms are requested from the suppliers
+ * and applied to the consumers on the calling thread, and the data managers of the application own JavaFX state.
+ * Therefore the atoms must be requested from the suppliers on the JavaFX application thread, and the consumers are
+ * applied on the thread which sets the atoms ({@link ConcurrentAtomHub} prepares atoms which are set from a background
+ * thread on that thread and applies them on the JavaFX application thread).
  */
 public class SimpleAtomHub implements AtomHub {
-    private final List<AtomSupplier> atomSuppliers = new ArrayList<>();
-    private final List<AtomConsumer> atomConsumers = new ArrayList<>();
+    private final CopyOnWriteArrayList<AtomSupplier> atomSuppliers = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<AtomConsumer> atomConsumers = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<AtomConsumer> suppliedAtomConsumers = new CopyOnWriteArrayList<>();
+    private final Map<AtomConsumer, String> consumerSignatures = new ConcurrentHashMap<>();
+    private final Set<AtomConsumer> notifiedConsumers = ConcurrentHashMap.newKeySet();
+    private final Object supplierLock = new Object();
+    private final Object consumerLock = new Object();
+
+    private final Map<AtomSupplier, Long> supplierModificationCounts = new HashMap<>();
+    private final Map<AtomSupplier, Set<Atom>> supplierAtoms = new HashMap<>();
+    private final Map<Atom, Integer> suppliedAtomCounts = new HashMap<>();
+    private final Set<AtomConsumer> notifiedSuppliedAtomConsumers = new HashSet<>();
+    private Collection<Atom> supplierAtomsSnapshot;
+    private Set<Atom> consumerAtoms = Collections.emptySet();
+    private Map<String, Set<Atom>> consumerSignatureAtoms = Collections.emptyMap();
+    private long consumerModificationCount = 0;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void registerAtomSupplier(AtomSupplier atomSupplier) {
-        if (!this.atomSuppliers.contains(atomSupplier)) this.atomSuppliers.add(atomSupplier);
+        // new suppliers have no cached modification count and are queried on the next request
+        this.atomSuppliers.addIfAbsent(atomSupplier);
     }
 
     /**
@@ -28,7 +75,29 @@ public class SimpleAtomHub implements AtomHub {
      */
     @Override
     public void registerAtomConsumer(AtomConsumer atomConsumer) {
-        if (!this.atomConsumers.contains(atomConsumer)) this.atomConsumers.add(atomConsumer);
+        this.atomConsumers.addIfAbsent(atomConsumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerAtomConsumer(AtomConsumer atomConsumer, String predicateName, int arity) {
+        this.registerAtomConsumer(atomConsumer);
+        synchronized (this.consumerLock) {
+            // the consumer receives all atoms of its signature next time, prepared atoms of other signatures are outdated
+            this.consumerSignatures.put(atomConsumer, getSignature(predicateName, arity));
+            this.notifiedConsumers.remove(atomConsumer);
+            this.consumerModificationCount++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerSuppliedAtomConsumer(AtomConsumer atomConsumer) {
+        this.suppliedAtomConsumers.addIfAbsent(atomConsumer);
     }
 
     /**
@@ -36,9 +105,70 @@ public class SimpleAtomHub implements AtomHub {
      */
     @Override
     public Collection<Atom> getAtomsFromSuppliers() {
-        Set<Atom> distinctAtoms = new HashSet<>();
-        for (AtomSupplier as : this.atomSuppliers) distinctAtoms.addAll(as.getAtoms());
-        return distinctAtoms;
+        synchronized (this.supplierLock) {
+            Set<Atom> addedAtoms = new HashSet<>();
+            Set<Atom> removedAtoms = new HashSet<>();
+            for (AtomSupplier as : this.atomSuppliers) {
+                long modificationCount = as.getModificationCount();
+                Long cachedModificationCount = this.supplierModificationCounts.get(as);
+
+                // query suppliers which do not track modifications on every access
+                if (modificationCount >= 0 && cachedModificationCount != null && cachedModificationCount == modificationCount) continue;
+
+                // only the atoms of the modified supplier are compared
+                Set<Atom> previousAtoms = this.supplierAtoms.getOrDefault(as, Collections.emptySet());
+                Set<Atom> currentAtoms = new HashSet<>(as.getAtoms());
+                for (Atom a : previousAtoms) if (!currentAtoms.contains(a)) this.removeSuppliedAtom(a, addedAtoms, removedAtoms);
+                for (Atom a : currentAtoms) if (!previousAtoms.contains(a)) this.addSuppliedAtom(a, addedAtoms, removedAtoms);
+
+                this.supplierAtoms.put(as, currentAtoms);
+                this.supplierModificationCounts.put(as, modificationCount);
+            }
+
+            boolean modified = !addedAtoms.isEmpty() || !removedAtoms.isEmpty();
+            if (modified || this.supplierAtomsSnapshot == null) {
+                this.supplierAtomsSnapshot = Collections.unmodifiableSet(new HashSet<>(this.suppliedAtomCounts.keySet()));
+            }
+
+            // consumers which did not receive atoms yet receive the whole snapshot
+            for (AtomConsumer ac : this.suppliedAtomConsumers) {
+                Runnable application = null;
+                if (this.notifiedSuppliedAtomConsumers.add(ac)) {
+                    application = () -> ac.setAtoms(this.supplierAtomsSnapshot);
+                } else if (modified) {
+                    application = () -> ac.updateAtoms(this.supplierAtomsSnapshot, Collections.unmodifiableSet(addedAtoms),
+                            Collections.unmodifiableSet(removedAtoms));
+                }
+                if (application != null && !this.applyToConsumer(application)) this.notifiedSuppliedAtomConsumers.remove(ac);
+            }
+
+            return this.supplierAtomsSnapshot;
+        }
+    }
+
+    /**
+     * Count the given atom as supplied by one more supplier. If no other supplier supplies the atom, it is added to the
+     * union of the supplied atoms.
+     *
+     * @param atom         atom which is supplied
+     * @param addedAtoms   atoms which were added to the union of the supplied atoms by the current request
+     * @param removedAtoms atoms which were removed from the union of the supplied atoms by the current request
+     */
+    private void addSuppliedAtom(Atom atom, Set<Atom> addedAtoms, Set<Atom> removedAtoms) {
+        if (this.suppliedAtomCounts.merge(atom, 1, Integer::sum) == 1 && !removedAtoms.remove(atom)) addedAtoms.add(atom);
+    }
+
+    /**
+     * Count the given atom as supplied by one less supplier. If no other supplier supplies the atom, it is removed from
+     * the union of the supplied atoms.
+     *
+     * @param atom         atom which is not supplied anymore
+     * @param addedAtoms   atoms which were added to the union of the supplied atoms by the current request
+     * @param removedAtoms atoms which were removed from the union of the supplied atoms by the current request
+     */
+    private void removeSuppliedAtom(Atom atom, Set<Atom> addedAtoms, Set<Atom> removedAtoms) {
+        if (this.suppliedAtomCounts.computeIfPresent(atom, (a, count) -> (count > 1) ? count - 1 : null) == null
+                && !addedAtoms.remove(atom)) removedAtoms.add(atom);
     }
 
     /**
@@ -46,7 +176,170 @@ public class SimpleAtomHub implements AtomHub {
      */
     @Override
     public void setAtomsToConsumers(Collection<Atom> atoms) {
+        synchronized (this.consumerLock) {
+            this.prepareAtomsToConsumers(atoms).run();
+        }
+    }
+
+    /**
+     * Prepare setting the given atoms to the registered consumers. The consumers are prepared on the calling thread
+     * and the common fork-join pool, without holding the lock of the consumers. The returned runnable applies the
+     * prepared atoms to the consumers on the thread which runs it.
+     * <p>
+     * If other atoms were set to the consumers or a consumer was registered with another signature between the
+     * preparation and the application, the prepared atoms are outdated. In this case, the returned runnable sets the
+     * given atoms to the consumers again instead.
+     *
+     * @param atoms collection of atoms which is set to the consumers
+     * @return runnable which applies the prepared atoms to the consumers
+     */
+    protected Runnable prepareAtomsToConsumers(Collection<Atom> atoms) {
         Set<Atom> distinctAtoms = new HashSet<>(atoms);
-        for (AtomConsumer ac : this.atomConsumers) ac.setAtoms(distinctAtoms);
+
+        // index atoms by signature once, instead of passing every atom to every consumer
+        Map<String, Set<Atom>> signatureAtoms = new HashMap<>();
+        for (Atom a : distinctAtoms) {
+            String signature = getSignature(a.getPredicateName(), a.getArity());
+            signatureAtoms.computeIfAbsent(signature, k -> new HashSet<>()).add(a);
+        }
+
+        // the delivery state of the consumers is copied, the previously set atoms are never modified
+        long modificationCount;
+        Set<Atom> previousAtoms;
+        Map<String, Set<Atom>> previousSignatureAtoms;
+        List<AtomConsumer> preparedConsumers = new ArrayList<>();
+        List<String> preparedSignatures = new ArrayList<>();
+        List<Boolean> notified = new ArrayList<>();
+        synchronized (this.consumerLock) {
+            modificationCount = this.consumerModificationCount;
+            previousAtoms = this.consumerAtoms;
+            previousSignatureAtoms = this.consumerSignatureAtoms;
+            for (AtomConsumer ac : this.atomConsumers) {
+                preparedConsumers.add(ac);
+                preparedSignatures.add(this.consumerSignatures.get(ac));
+                notified.add(this.notifiedConsumers.contains(ac));
+            }
+        }
+
+        // differences are computed once per signature and shared by the consumers of the signature
+        Map<String, AtomDifference> signatureDifferences = new HashMap<>();
+        AtomDifference difference = null;
+
+        List<Callable<Runnable>> preparations = new ArrayList<>();
+        for (int i = 0; i < preparedConsumers.size(); i++) {
+            AtomConsumer ac = preparedConsumers.get(i);
+            String signature = preparedSignatures.get(i);
+            Set<Atom> currentAtoms = Collections.unmodifiableSet((signature == null)
+                    ? distinctAtoms
+                    : signatureAtoms.getOrDefault(signature, Collections.emptySet()));
+
+            if (!notified.get(i)) {
+                preparations.add(() -> ac.prepareSetAtoms(currentAtoms));
+            } else if (signature == null) {
+                if (difference == null) difference = new AtomDifference(previousAtoms, currentAtoms);
+                AtomDifference d = difference;
+                preparations.add(() -> ac.prepareUpdateAtoms(currentAtoms, d.addedAtoms, d.removedAtoms));
+            } else {
+                Set<Atom> previousConsumerAtoms = previousSignatureAtoms.getOrDefault(signature, Collections.emptySet());
+                AtomDifference d = signatureDifferences.computeIfAbsent(signature,
+                        k -> new AtomDifference(previousConsumerAtoms, currentAtoms));
+                preparations.add(() -> ac.prepareUpdateAtoms(currentAtoms, d.addedAtoms, d.removedAtoms));
+            }
+        }
+
+        // prepare consumers in parallel, apply the prepared atoms together afterwards
+        List<Runnable> applications = prepareConsumers(preparations);
+        return () -> {
+            synchronized (this.consumerLock) {
+                if (this.consumerModificationCount != modificationCount) {
+                    this.prepareAtomsToConsumers(distinctAtoms).run();
+                    return;
+                }
+
+                for (int i = 0; i < applications.size(); i++) {
+                    AtomConsumer ac = preparedConsumers.get(i);
+                    if (this.applyToConsumer(applications.get(i))) this.notifiedConsumers.add(ac);
+                    else this.notifiedConsumers.remove(ac);
+                }
+
+                this.consumerAtoms = distinctAtoms;
+                this.consumerSignatureAtoms = signatureAtoms;
+                this.consumerModificationCount++;
+            }
+        };
+    }
+
+    /**
+     * Apply the prepared atoms to a consumer with the given runnable. If the preparation or the application failed,
+     * the consumer did not receive the atoms.
+     *
+     * @param application runnable which applies the prepared atoms to a consumer, or null if the preparation failed
+     * @return true if the atoms were applied to the consumer, false otherwise
+     */
+    private boolean applyToConsumer(Runnable application) {
+        if (application == null) return false;
+        try {
+            application.run();
+            return true;
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Execute the given preparations of consumers in parallel on the common fork-join pool. If the preparation of a
+     * consumer fails, the exception is printed and the consumer is skipped.
+     *
+     * @param preparations preparations of consumers
+     * @return runnables which apply the prepared atoms to the consumers, in the order of the given preparations, which
+     * contain null for every failed preparation
+     */
+    private static List<Runnable> prepareConsumers(List<Callable<Runnable>> preparations) {
+        List<Runnable> applications = new ArrayList<>();
+
+        // avoid the overhead of the pool for a single consumer
+        if (preparations.size() == 1) {
+            try { applications.add(preparations.get(0).call()); }
+            catch (Exception e) { e.printStackTrace(); applications.add(null); }
+            return applications;
+        }
+
+        for (Future<Runnable> f : ForkJoinPool.commonPool().invokeAll(preparations)) {
+            try { applications.add(f.get()); }
+            catch (InterruptedException | ExecutionException e) { e.printStackTrace(); applications.add(null); }
+        }
+        return applications;
+    }
+
+    /**
+     * @param predicateName predicate name of an atom
+     * @param arity         arity of an atom
+     * @return signature of atoms with the given predicate name and arity (for example: 'edge/2')
+     */
+    private static String getSignature(String predicateName, int arity) {
+        return predicateName + "/" + arity;
+    }
+
+    /**
+     * Added and removed atoms between a previous and a current set of atoms.
+     */
+    private static class AtomDifference {
+        private final Set<Atom> addedAtoms;
+        private final Set<Atom> removedAtoms;
+
+        /**
+         * @param previousAtoms set of atoms which were previously set to a consumer
+         * @param currentAtoms  set of atoms which are currently set to a consumer
+         */
+        private AtomDifference(Set<Atom> previousAtoms, Set<Atom> currentAtoms) {
+            Set<Atom> addedAtoms = new HashSet<>();
+            for (Atom a : currentAtoms) if (!previousAtoms.contains(a)) addedAtoms.add(a);
+            this.addedAtoms = Collections.unmodifiableSet(addedAtoms);
+
+            Set<Atom> removedAtoms = new HashSet<>();
+            for (Atom a : previousAtoms) if (!currentAtoms.contains(a)) removedAtoms.add(a);
+            this.removedAtoms = Collections.unmodifiableSet(removedAtoms);
+        }
     }
 }
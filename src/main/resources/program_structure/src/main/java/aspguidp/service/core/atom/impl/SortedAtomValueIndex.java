@@ -0,0 +1,139 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomValueIndex;
+
+import java.util.*;
+
+/**
+ * Implementation of the {@link AtomValueIndex} interface which stores the values of each predicate value source in a
+ * sorted map.
+ * <p>
+ * The sorted map of a predicate value source maps each value to the number of indexed atoms with this value. Values
+ * which start with a prefix are queried by a range of the sorted map, which requires a logarithmic lookup and a scan
+ * over the returned values only.
+ * <p>
+ * The index is updated with the atoms which were added and removed since the last update, therefore only the values of
+ * the changed atoms are applied to the index. If all atoms are set to the index, the index is rebuilt.
+ * <p>
+ * Subclasses are notified when a value is added to or removed from a value source, which enables them to maintain
+ * additional indexes of the values incrementally.
+ * <p>
+ * The methods of this class are safe to be called concurrently.
+ */
+public class SortedAtomValueIndex implements AtomValueIndex {
+    private final Map<String, NavigableMap<String, Integer>> valueSourceValues = new HashMap<>();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values of the previously indexed atoms are removed and the values of the given atoms are indexed.
+     */
+    @Override
+    public synchronized void setAtoms(Collection<Atom> atoms) {
+        for (Map.Entry<String, NavigableMap<String, Integer>> e : this.valueSourceValues.entrySet()) {
+            for (String v : e.getValue().keySet()) this.valueRemoved(e.getKey(), v);
+        }
+        this.valueSourceValues.clear();
+
+        for (Atom a : new HashSet<>(atoms)) this.addAtom(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the values of the given added and removed atoms are applied to the index.
+     */
+    @Override
+    public synchronized void updateAtoms(Collection<Atom> atoms, Collection<Atom> addedAtoms, Collection<Atom> removedAtoms) {
+        for (Atom a : removedAtoms) this.removeAtom(a);
+        for (Atom a : addedAtoms) this.addAtom(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<String> getValues(String predicateName, int argumentIndex, String prefix) {
+        NavigableMap<String, Integer> values = this.valueSourceValues.get(getValueSource(predicateName, argumentIndex));
+        if (values == null) return Collections.emptyList();
+
+        // values with the given prefix form a contiguous range, which starts at the prefix itself
+        List<String> matchingValues = new ArrayList<>();
+        for (String v : values.tailMap(prefix, true).keySet()) {
+            if (!v.startsWith(prefix)) break;
+            matchingValues.add(v);
+        }
+        return matchingValues;
+    }
+
+    /**
+     * @param atom atom whose argument values are added to the index
+     */
+    private void addAtom(Atom atom) {
+        List<String> arguments = atom.getArguments();
+        for (int i = 0; i < arguments.size(); i++) {
+            String valueSource = getValueSource(atom.getPredicateName(), i);
+            NavigableMap<String, Integer> values = this.valueSourceValues.computeIfAbsent(valueSource, k -> new TreeMap<>());
+            if (values.merge(arguments.get(i), 1, Integer::sum) == 1) this.valueAdded(valueSource, arguments.get(i));
+        }
+    }
+
+    /**
+     * @param atom atom whose argument values are removed from the index
+     */
+    private void removeAtom(Atom atom) {
+        List<String> arguments = atom.getArguments();
+        for (int i = 0; i < arguments.size(); i++) {
+            String valueSource = getValueSource(atom.getPredicateName(), i);
+            NavigableMap<String, Integer> values = this.valueSourceValues.get(valueSource);
+            if (values == null) continue;
+
+            // remove the value, if no other indexed atom has the value
+            if (values.computeIfPresent(arguments.get(i), (v, count) -> (count > 1) ? count - 1 : null) == null) {
+                this.valueRemoved(valueSource, arguments.get(i));
+            }
+        }
+    }
+
+    /**
+     * Called when the given value of the given value source is added to the index, because the first indexed atom with
+     * this value was added. Subclasses can override this method to maintain additional indexes of the values.
+     *
+     * @param valueSource predicate value source of the added value (for example: 'node[0]')
+     * @param value       value which is added
+     */
+    protected void valueAdded(String valueSource, String value) {
+    }
+
+    /**
+     * Called when the given value of the given value source is removed from the index, because the last indexed atom
+     * with this value was removed. Subclasses can override this method to maintain additional indexes of the values.
+     *
+     * @param valueSource predicate value source of the removed value (for example: 'node[0]')
+     * @param value       value which is removed
+     */
+    protected void valueRemoved(String valueSource, String value) {
+    }
+
+    /**
+     * Get the indexed values of the given value source. The returned set is a view of the index and must only be
+     * accessed while holding the lock of the index.
+     *
+     * @param valueSource predicate value source (for example: 'node[0]')
+     * @return sorted set of the values of the given value source
+     */
+    protected NavigableSet<String> getIndexedValues(String valueSource) {
+        NavigableMap<String, Integer> values = this.valueSourceValues.get(valueSource);
+        return (values != null) ? values.navigableKeySet() : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * @param predicateName predicate name of atoms
+     * @param argumentIndex index of an argument of atoms
+     * @return predicate value source for the given predicate name and argument index (for example: 'node[0]')
+     */
+    protected static String getValueSource(String predicateName, int argumentIndex) {
+        return predicateName + "[" + argumentIndex + "]";
+    }
+}
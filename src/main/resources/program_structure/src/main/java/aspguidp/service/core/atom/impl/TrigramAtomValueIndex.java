@@ -0,0 +1,142 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.service.core.atom.SearchableAtomValueIndex;
+
+import java.util.*;
+
+/**
+ * Implementation of the {@link SearchableAtomValueIndex} interface which additionally indexes the values of each
+ * predicate value source by their trigrams.
+ * <p>
+ * The trigrams of a value are the substrings of length 3 of the lower case value, which is padded by a start and an end
+ * marker (for example: the trigrams of 'ab' are '^ab' and 'ab$'). For each value source, every trigram is mapped to the
+ * values which contain the trigram. The trigram index is updated incrementally, when a value is added to or removed
+ * from the underlying sorted index ({@link SortedAtomValueIndex}).
+ * <p>
+ * A query is answered by counting the trigrams which the query shares with each value, using the values of the query
+ * trigrams only. Values which contain the query are returned first (values which start with the query before other
+ * values, shorter values before longer values). Other values are returned, if the share of common trigrams is high
+ * enough, which tolerates typos in the query. These values are ranked by the share of common trigrams. Queries with
+ * less than 3 characters have no inner trigram, therefore the values of the value source are scanned for these queries.
+ * <p>
+ * The methods of this class are safe to be called concurrently.
+ */
+public class TrigramAtomValueIndex extends SortedAtomValueIndex implements SearchableAtomValueIndex {
+    private static final char startMarker = '\u0002';
+    private static final char endMarker = '\u0003';
+    private static final double minimumSimilarity = 0.4;
+
+    private final Map<String, Map<String, Set<String>>> valueSourceTrigrams = new HashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<String> searchValues(String predicateName, int argumentIndex, String query, int limit) {
+        String valueSource = getValueSource(predicateName, argumentIndex);
+        NavigableSet<String> values = this.getIndexedValues(valueSource);
+        if (limit <= 0 || values.isEmpty()) return Collections.emptyList();
+
+        String lowerCaseQuery = query.toLowerCase();
+        List<ValueRank> ranks = new ArrayList<>();
+
+        if (lowerCaseQuery.length() < 3) {
+            // short queries are scanned, the sorted values keep the order of equally ranked values
+            for (String v : values) {
+                if (v.toLowerCase().contains(lowerCaseQuery)) ranks.add(new ValueRank(v, lowerCaseQuery, 1));
+            }
+        } else {
+            // count the shared trigrams of the values which share at least one trigram with the query
+            Map<String, Set<String>> trigramValues = this.valueSourceTrigrams.getOrDefault(valueSource, Collections.emptyMap());
+            Set<String> queryTrigrams = getTrigrams(lowerCaseQuery);
+            Map<String, Integer> sharedTrigramCounts = new HashMap<>();
+            for (String t : queryTrigrams) {
+                for (String v : trigramValues.getOrDefault(t, Collections.emptySet())) sharedTrigramCounts.merge(v, 1, Integer::sum);
+            }
+
+            for (Map.Entry<String, Integer> e : sharedTrigramCounts.entrySet()) {
+                // dice coefficient of the trigram sets, a value of length n has n padded trigrams
+                double similarity = 2.0 * e.getValue() / (queryTrigrams.size() + e.getKey().length());
+                ValueRank rank = new ValueRank(e.getKey(), lowerCaseQuery, similarity);
+                if (rank.containsQuery || similarity >= minimumSimilarity) ranks.add(rank);
+            }
+        }
+
+        ranks.sort(null);
+        List<String> rankedValues = new ArrayList<>(Math.min(limit, ranks.size()));
+        for (int i = 0; i < ranks.size() && i < limit; i++) rankedValues.add(ranks.get(i).value);
+        return rankedValues;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void valueAdded(String valueSource, String value) {
+        Map<String, Set<String>> trigramValues = this.valueSourceTrigrams.computeIfAbsent(valueSource, k -> new HashMap<>());
+        for (String t : getTrigrams(value.toLowerCase())) trigramValues.computeIfAbsent(t, k -> new HashSet<>()).add(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void valueRemoved(String valueSource, String value) {
+        Map<String, Set<String>> trigramValues = this.valueSourceTrigrams.get(valueSource);
+        if (trigramValues == null) return;
+
+        for (String t : getTrigrams(value.toLowerCase())) {
+            Set<String> values = trigramValues.get(t);
+            if (values != null && values.remove(value) && values.isEmpty()) trigramValues.remove(t);
+        }
+    }
+
+    /**
+     * @param s lower case string
+     * @return distinct trigrams of the given string, which is padded by a start and an end marker
+     */
+    private static Set<String> getTrigrams(String s) {
+        String padded = startMarker + s + endMarker;
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) trigrams.add(padded.substring(i, i + 3));
+        return trigrams;
+    }
+
+    /**
+     * Rank of a value for a query. Ranks are ordered by relevance, the most relevant rank first.
+     */
+    private static class ValueRank implements Comparable<ValueRank> {
+        private final String value;
+        private final boolean containsQuery;
+        private final boolean startsWithQuery;
+        private final double similarity;
+
+        /**
+         * @param value          value which is ranked
+         * @param lowerCaseQuery lower case query for which the value is ranked
+         * @param similarity     share of trigrams which the value shares with the query
+         */
+        private ValueRank(String value, String lowerCaseQuery, double similarity) {
+            String lowerCaseValue = value.toLowerCase();
+            this.value = value;
+            this.containsQuery = lowerCaseValue.contains(lowerCaseQuery);
+            this.startsWithQuery = lowerCaseValue.startsWith(lowerCaseQuery);
+            this.similarity = similarity;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(ValueRank o) {
+            if (this.containsQuery != o.containsQuery) return this.containsQuery ? -1 : 1;
+            if (this.containsQuery) {
+                if (this.startsWithQuery != o.startsWithQuery) return this.startsWithQuery ? -1 : 1;
+                if (this.value.length() != o.value.length()) return Integer.compare(this.value.length(), o.value.length());
+            } else if (this.similarity != o.similarity) {
+                return Double.compare(o.similarity, this.similarity);
+            }
+            return this.value.compareTo(o.value);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package aspguidp.service.data;
 
+import aspguidp.helper.TemplateHelper;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomConsumer;
+import aspguidp.service.core.atom.AtomHub;
 import aspguidp.service.data.manager.EntityDataManager;
 import aspguidp.service.data.manager.ValueDataManager;
 import aspguidp.service.data.model.EntityFactory;
@@ -68,6 +72,21 @@ public abstract class DataServicePool {
      */
     public abstract EntityFactory getEntityFactory();
 
+    /**
+     * Register the given atom consumer to the given atom hub. The atom consumer is registered with the predicate name
+     * and the arity of the atom representation template of the service pool instance, therefore it only receives atoms
+     * which can represent an entity/value of the service pool instance. If the predicate name of the template is not
+     * fixed, the atom consumer is registered without a filter and receives all atoms.
+     *
+     * @param atomHub      atom hub to which the atom consumer is registered
+     * @param atomConsumer atom consumer which is registered
+     */
+    protected void registerAtomConsumer(AtomHub atomHub, AtomConsumer atomConsumer) {
+        Atom templateAtom = TemplateHelper.getTemplateAtom(this.getAtomTemplateParts());
+        if (templateAtom != null) atomHub.registerAtomConsumer(atomConsumer, templateAtom.getPredicateName(), templateAtom.getArity());
+        else atomHub.registerAtomConsumer(atomConsumer);
+    }
+
     /**
      * Model class which represents an attribute of an entity.
      * Properties of this class are used for the initialization of the data related managers and services which are
@@ -3,6 +3,9 @@ package aspguidp.service.data.manager;
 import aspguidp.service.data.model.Entity;
 import javafx.collections.ObservableList;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for an entity data manager.
  * <p>
@@ -22,6 +25,30 @@ public interface EntityDataManager extends DataManager {
      */
     boolean addByUserInput(String displayRepresentation);
 
+    /**
+     * Add entities to the entities of the manager by the display representations of the entities in a single batch.
+     * Display representations which cannot be converted to an entity and entities which are already managed are
+     * skipped. The added entities are added to the observable list of entities by a single change.
+     * <p>
+     * This method is called when an entity input component imports multiple entities at once (for example: pasted
+     * lines).
+     *
+     * @param displayRepresentations display representations of the entities which are added
+     * @return number of entities which were added to the entities of the manager
+     */
+    int addAllByUserInput(Collection<String> displayRepresentations);
+
+    /**
+     * Add entities to the entities of the manager by the display representations of the entities in a single batch,
+     * like {@link #addAllByUserInput(Collection)}. The display representations are converted to entities on a
+     * background thread and the entities are added on the javafx application thread afterwards, therefore large
+     * batches do not block the user interface.
+     *
+     * @param displayRepresentations display representations of the entities which are added
+     * @return future which is completed with the number of added entities, after the entities were added
+     */
+    CompletableFuture<Integer> addAllByUserInputAsync(Collection<String> displayRepresentations);
+
     /**
      * Remove all managed entities from the manager instance.
      */
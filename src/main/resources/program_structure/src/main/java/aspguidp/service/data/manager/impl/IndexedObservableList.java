@@ -0,0 +1,294 @@
+package aspguidp.service.data.manager.impl;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Observable list implementation which stores distinct elements in an array list and additionally indexes the elements
+ * in a hash set.
+ * <p>
+ * The hash set enables to check if an element is contained in the list in constant time, which is used to reject
+ * duplicate elements on insertion. Adding an element which is already contained in the list is ignored. Bulk
+ * operations (add all, remove all, retain all, set all) are applied in a single pass over the list and fire a single
+ * change event, which contains the positions of the added and removed elements. Removing a single element requires a
+ * lookup of its position, which is skipped if the element is not contained in the list.
+ * <p>
+ * Instances of this class are used by the entity data managers of the application to store their entities
+ * ({@link SimpleEntityDataManager}).
+ *
+ * @param <E> type of the elements of the list
+ */
+public class IndexedObservableList<E> extends ObservableListBase<E> {
+    private List<E> elements = new ArrayList<>();
+    private final Set<E> elementSet = new HashSet<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+        return this.elements.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return this.elementSet.contains(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object o) {
+        return (this.elementSet.contains(o)) ? this.elements.indexOf(o) : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        return this.indexOf(o);
+    }
+
+    /**
+     * Add the given element to the end of the list, if it is not contained in the list.
+     *
+     * @param element element which is added
+     * @return true, if the element was added. false, if the element is already contained in the list
+     */
+    @Override
+    public boolean add(E element) {
+        if (this.elementSet.contains(element)) return false;
+        this.add(this.elements.size(), element);
+        return true;
+    }
+
+    /**
+     * Insert the given element at the given position, if it is not contained in the list.
+     *
+     * @param index   position at which the element is inserted
+     * @param element element which is inserted
+     */
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > this.elements.size()) throw new IndexOutOfBoundsException("Index: " + index);
+        if (!this.elementSet.add(element)) return;
+
+        this.elements.add(index, element);
+        this.modCount++;
+        this.beginChange();
+        this.nextAdd(index, index + 1);
+        this.endChange();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return this.addAll(this.elements.size(), c);
+    }
+
+    /**
+     * Insert the elements of the given collection, which are not contained in the list, at the given position.
+     *
+     * @param index position at which the elements are inserted
+     * @param c     collection of elements which are inserted
+     * @return true, if at least one element was inserted
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        if (index < 0 || index > this.elements.size()) throw new IndexOutOfBoundsException("Index: " + index);
+
+        List<E> addedElements = new ArrayList<>();
+        for (E e : c) if (this.elementSet.add(e)) addedElements.add(e);
+        if (addedElements.isEmpty()) return false;
+
+        this.elements.addAll(index, addedElements);
+        this.modCount++;
+        this.beginChange();
+        this.nextAdd(index, index + addedElements.size());
+        this.endChange();
+        return true;
+    }
+
+    /**
+     * Replace the element at the given position. The given element must not be contained at another position.
+     *
+     * @param index   position of the replaced element
+     * @param element element which is set
+     * @return element which was replaced
+     */
+    @Override
+    public E set(int index, E element) {
+        E previous = this.elements.get(index);
+        if (!previous.equals(element) && this.elementSet.contains(element)) {
+            throw new IllegalArgumentException("Element is already contained in the list: " + element);
+        }
+
+        this.elementSet.remove(previous);
+        this.elementSet.add(element);
+        this.elements.set(index, element);
+        this.beginChange();
+        this.nextSet(index, previous);
+        this.endChange();
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E remove(int index) {
+        E removed = this.elements.remove(index);
+        this.elementSet.remove(removed);
+        this.modCount++;
+        this.beginChange();
+        this.nextRemove(index, removed);
+        this.endChange();
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = this.indexOf(o);
+        if (index < 0) return false;
+
+        this.remove(index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(int from, int to) {
+        if (from < 0 || to > this.elements.size() || from > to) throw new IndexOutOfBoundsException("Range: " + from + "-" + to);
+        if (from == to) return;
+
+        List<E> range = this.elements.subList(from, to);
+        List<E> removedElements = new ArrayList<>(range);
+        // set.removeAll(list) may call list.contains for every element of the set, which is quadratic
+        if (removedElements.size() == this.elements.size()) this.elementSet.clear();
+        else for (E e : removedElements) this.elementSet.remove(e);
+        range.clear();
+        this.modCount++;
+        this.beginChange();
+        this.nextRemove(from, removedElements);
+        this.endChange();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        this.remove(fromIndex, toIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        this.remove(0, this.elements.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c.isEmpty() || this.elements.isEmpty()) return false;
+        Collection<?> removedElements = (c instanceof Set) ? c : new HashSet<>(c);
+        return this.removeIf(removedElements::contains);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Collection<?> retainedElements = (c instanceof Set) ? c : new HashSet<>(c);
+        return this.removeIf(e -> !retainedElements.contains(e));
+    }
+
+    /**
+     * Remove all elements which satisfy the given predicate in a single pass. A single change event is fired, which
+     * contains a removal for every range of consecutive removed elements.
+     *
+     * @param filter predicate which returns true for elements which are removed
+     * @return true, if at least one element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        List<E> retainedElements = new ArrayList<>(this.elements.size());
+        List<List<E>> removedRanges = new ArrayList<>();
+        List<Integer> removedRangeIndexes = new ArrayList<>();
+
+        List<E> removedRange = null;
+        for (E e : this.elements) {
+            if (filter.test(e)) {
+                if (removedRange == null) {
+                    removedRange = new ArrayList<>();
+                    removedRanges.add(removedRange);
+                    removedRangeIndexes.add(retainedElements.size());
+                }
+                removedRange.add(e);
+            } else {
+                retainedElements.add(e);
+                removedRange = null;
+            }
+        }
+        if (removedRanges.isEmpty()) return false;
+
+        this.elements = retainedElements;
+        this.modCount++;
+        this.beginChange();
+        for (int i = 0; i < removedRanges.size(); i++) {
+            for (E e : removedRanges.get(i)) this.elementSet.remove(e);
+            this.nextRemove(removedRangeIndexes.get(i), removedRanges.get(i));
+        }
+        this.endChange();
+        return true;
+    }
+
+    /**
+     * Replace all elements of the list by the distinct elements of the given collection. A single change event is
+     * fired, which removes the previous elements and adds the new elements.
+     *
+     * @param c collection of elements which are set
+     * @return true
+     */
+    @Override
+    public boolean setAll(Collection<? extends E> c) {
+        List<E> previousElements = this.elements;
+        this.elements = new ArrayList<>(c.size());
+        this.elementSet.clear();
+        for (E e : c) if (this.elementSet.add(e)) this.elements.add(e);
+
+        this.modCount++;
+        this.beginChange();
+        if (!previousElements.isEmpty()) this.nextRemove(0, previousElements);
+        if (!this.elements.isEmpty()) this.nextAdd(0, this.elements.size());
+        this.endChange();
+        return true;
+    }
+}
@@ -6,21 +6,30 @@ import aspguidp.service.core.atom.Atom;
 import aspguidp.service.data.manager.EntityDataManager;
 import aspguidp.service.data.model.Entity;
 import aspguidp.service.data.model.EntityFactory;
-import javafx.collections.FXCollections;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * Basic implementation of the {@link EntityDataManager} interface which uses an {@link EntityFactory} instance to create
  * {@link Entity} instances from given user input strings and string representations of atoms.
+ * <p>
+ * The entities are stored in an {@link IndexedObservableList}, which does not contain duplicate entities and enables
+ * to check if an entity is managed and to add or remove entities without scanning the list.
  */
 public class SimpleEntityDataManager implements EntityDataManager {
     private final EntityFactory entityFactory;
-    private final ObservableList<Entity> entities = FXCollections.observableArrayList();
+    private final ObservableList<Entity> entities = new IndexedObservableList<>();
+    private volatile long modificationCount = 0;
+    private volatile long atomsModificationCount = -1;
 
     /**
      * Crete a new manager instance with the given entity factory.
@@ -30,6 +39,7 @@ public class SimpleEntityDataManager implements EntityDataManager {
      */
     public SimpleEntityDataManager(EntityFactory entityFactory) {
         this.entityFactory = entityFactory;
+        this.entities.addListener((ListChangeListener<Entity>) c -> this.modificationCount++);
     }
 
     /**
@@ -39,7 +49,7 @@ public class SimpleEntityDataManager implements EntityDataManager {
     public boolean addByUserInput(String displayRepresentation) {
         try {
             Entity e = this.entityFactory.fromDisplayRepresentation(displayRepresentation);
-            if (!this.entities.contains(e)) this.entities.add(e);
+            this.entities.add(e);
             return true;
         } catch (InvalidEntityRepresentationException e) {
             e.printStackTrace();
@@ -48,6 +58,24 @@ public class SimpleEntityDataManager implements EntityDataManager {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int addAllByUserInput(Collection<String> displayRepresentations) {
+        return this.addEntities(this.entitiesFromDisplayRepresentations(displayRepresentations));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> addAllByUserInputAsync(Collection<String> displayRepresentations) {
+        List<String> batch = new ArrayList<>(displayRepresentations);
+        return CompletableFuture.supplyAsync(() -> this.entitiesFromDisplayRepresentations(batch))
+                .thenApplyAsync(this::addEntities, Platform::runLater);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -73,11 +101,109 @@ public class SimpleEntityDataManager implements EntityDataManager {
         return AtomHelper.atomsFromStringRepresentations(atomStrings);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void setAtoms(Collection<Atom> atoms) {
+        this.prepareSetAtoms(atoms).run();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the changed entities are added to or removed from the observable list of entities of the manager instance,
+     * which enables list views to update only the respective cells.
+     * <p>
+     * If the entities were modified since the atoms were last set to the manager instance (for example by user
+     * input), the given added and removed atoms do not match the entities of the manager instance. In this case, all
+     * entities are replaced by the entities of the given collection of atoms. This is checked again in the apply phase,
+     * as the entities may be modified on the JavaFX application thread while the update is prepared on another thread.
+     */
+    @Override
+    public void updateAtoms(Collection<Atom> atoms, Collection<Atom> addedAtoms, Collection<Atom> removedAtoms) {
+        this.prepareUpdateAtoms(atoms, addedAtoms, removedAtoms).run();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entities are created from the given atoms in the prepare phase.
+     */
+    @Override
+    public Runnable prepareSetAtoms(Collection<Atom> atoms) {
+        List<Entity> matchingEntities = this.entitiesFromAtoms(atoms);
+        return () -> {
+            this.entities.setAll(matchingEntities);
+            this.atomsModificationCount = this.modificationCount;
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The added and removed entities are created from the given atoms in the prepare phase.
+     */
+    @Override
+    public Runnable prepareUpdateAtoms(Collection<Atom> atoms, Collection<Atom> addedAtoms, Collection<Atom> removedAtoms) {
+        long expectedModificationCount = this.atomsModificationCount;
+        if (this.modificationCount != expectedModificationCount) return this.prepareSetAtoms(atoms);
+
+        Set<Entity> removedEntities = new HashSet<>(this.entitiesFromAtoms(removedAtoms));
+        List<Entity> addedEntities = this.entitiesFromAtoms(addedAtoms);
+        return () -> {
+            // the entities were modified after the update was prepared, therefore all entities are replaced
+            if (this.modificationCount != expectedModificationCount) {
+                this.prepareSetAtoms(atoms).run();
+                return;
+            }
+
+            if (!removedEntities.isEmpty()) this.entities.removeAll(removedEntities);
+            if (!addedEntities.isEmpty()) this.entities.addAll(addedEntities);
+            this.atomsModificationCount = this.modificationCount;
+        };
+    }
+
+    /**
+     * @param addedEntities entities which are added to the entities of the manager instance by a single change
+     * @return number of entities which were added, entities which are already managed are skipped
+     */
+    private int addEntities(List<Entity> addedEntities) {
+        int previousSize = this.entities.size();
+        this.entities.addAll(addedEntities);
+        return this.entities.size() - previousSize;
+    }
+
+    /**
+     * @param displayRepresentations display representations from which entities are created
+     * @return list of entities which could be created from the given display representations by the entity factory
+     * of the manager
+     */
+    private List<Entity> entitiesFromDisplayRepresentations(Collection<String> displayRepresentations) {
+        List<Entity> matchingEntities = new ArrayList<>();
+
+        for (String r : displayRepresentations) {
+            // ignoring invalid format exception, invalid lines of a batch are skipped
+            try { matchingEntities.add(this.entityFactory.fromDisplayRepresentation(r)); }
+            catch (InvalidEntityRepresentationException e) {}
+        }
+
+        return matchingEntities;
+    }
+
+    /**
+     * @param atoms collection of atoms from which entities are created
+     * @return list of entities which could be created from the given atoms by the entity factory of the manager
+     */
+    private List<Entity> entitiesFromAtoms(Collection<Atom> atoms) {
         List<Entity> matchingEntities = new ArrayList<>();
 
         for (Atom a : atoms) {
@@ -86,6 +212,6 @@ public class SimpleEntityDataManager implements EntityDataManager {
             catch (InvalidEntityRepresentationException e) {}
         }
 
-        this.entities.setAll(matchingEntities);
+        return matchingEntities;
     }
 }
@@ -18,6 +18,7 @@ import java.util.*;
 public class SimpleValueDataManager implements ValueDataManager {
     private final EntityFactory entityFactory;
     private final ObjectProperty<Entity> value = new SimpleObjectProperty<>();
+    private volatile long modificationCount = 0;
 
     /**
      * Create a new manager instance with the given entity factory.
@@ -27,6 +28,7 @@ public class SimpleValueDataManager implements ValueDataManager {
      */
     public SimpleValueDataManager(EntityFactory entityFactory) {
         this.entityFactory = entityFactory;
+        this.value.addListener((ob, o, n) -> this.modificationCount++);
     }
 
     /**
@@ -70,11 +72,29 @@ public class SimpleValueDataManager implements ValueDataManager {
         return AtomHelper.atomsFromStringRepresentations(Collections.singletonList(this.value.get().getAtomRepresentation()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void setAtoms(Collection<Atom> atoms) {
+        this.prepareSetAtoms(atoms).run();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value is selected from the given atoms in the prepare phase.
+     */
+    @Override
+    public Runnable prepareSetAtoms(Collection<Atom> atoms) {
         List<Entity> matchingEntities = new ArrayList<>();
 
         for (Atom a : atoms) {
@@ -83,11 +103,19 @@ public class SimpleValueDataManager implements ValueDataManager {
             catch (InvalidEntityRepresentationException e) {}
         }
 
-        if (!matchingEntities.isEmpty()) {
-            matchingEntities.sort(Comparator.comparing(Entity::getDisplayRepresentation));
-            this.value.set(matchingEntities.get(0));
-        } else {
-            this.value.set(null);
-        }
+        Entity matchingEntity = matchingEntities.stream()
+                .min(Comparator.comparing(Entity::getDisplayRepresentation))
+                .orElse(null);
+        return () -> this.value.set(matchingEntity);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As only a single value is managed, the update is prepared like setting the given collection of atoms.
+     */
+    @Override
+    public Runnable prepareUpdateAtoms(Collection<Atom> atoms, Collection<Atom> addedAtoms, Collection<Atom> removedAtoms) {
+        return this.prepareSetAtoms(atoms);
     }
 }
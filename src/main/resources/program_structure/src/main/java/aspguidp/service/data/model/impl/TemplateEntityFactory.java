@@ -1,16 +1,15 @@
 package aspguidp.service.data.model.impl;
 
 import aspguidp.exception.InvalidEntityRepresentationException;
-import aspguidp.helper.TemplateHelper;
 import aspguidp.service.data.model.Entity;
 import aspguidp.service.data.model.EntityFactory;
+import aspguidp.service.data.template.TemplateMatch;
+import aspguidp.service.data.template.TemplateMatcher;
 import aspguidp.service.data.template.TemplatePart;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Implementation of the {@link EntityFactory} interface which uses sequences of {@link TemplatePart} instances to
@@ -23,6 +22,8 @@ import java.util.regex.Pattern;
 public class TemplateEntityFactory implements EntityFactory {
     private final List<TemplatePart> atomTemplateParts;
     private final List<TemplatePart> displayTemplateParts;
+    private final TemplateMatcher atomTemplateMatcher;
+    private final TemplateMatcher displayTemplateMatcher;
 
     /**
      * Create a new service instance for the given display template parts and atom template parts.
@@ -35,6 +36,8 @@ public class TemplateEntityFactory implements EntityFactory {
     public TemplateEntityFactory(List<TemplatePart> displayTemplateParts, List<TemplatePart> atomTemplateParts) {
         this.displayTemplateParts = displayTemplateParts;
         this.atomTemplateParts = atomTemplateParts;
+        this.displayTemplateMatcher = new TemplateMatcher(displayTemplateParts);
+        this.atomTemplateMatcher = new TemplateMatcher(atomTemplateParts);
     }
 
     /**
@@ -42,7 +45,7 @@ public class TemplateEntityFactory implements EntityFactory {
      */
     @Override
     public Entity fromDisplayRepresentation(String displayRepresentation) throws InvalidEntityRepresentationException {
-        return this.fromPlaceholderValues(this.placeholderValuesFromString(displayRepresentation, this.displayTemplateParts));
+        return this.fromPlaceholderValues(this.placeholderValuesFromString(displayRepresentation, this.displayTemplateMatcher, this.displayTemplateParts));
     }
 
     /**
@@ -50,7 +53,7 @@ public class TemplateEntityFactory implements EntityFactory {
      */
     @Override
     public Entity fromAtomRepresentation(String atomRepresentation) throws InvalidEntityRepresentationException {
-        return this.fromPlaceholderValues(this.placeholderValuesFromString(atomRepresentation, this.atomTemplateParts));
+        return this.fromPlaceholderValues(this.placeholderValuesFromString(atomRepresentation, this.atomTemplateMatcher, this.atomTemplateParts));
     }
 
     /**
@@ -72,20 +75,22 @@ public class TemplateEntityFactory implements EntityFactory {
      * Extract the placeholder values of the placeholder template parts of the given representation template from the
      * given string.
      *
-     * @param stringValue   string from which the placeholder values are extracted
-     * @param templateParts representation template which defines which placeholder values are extracted
+     * @param stringValue     string from which the placeholder values are extracted
+     * @param templateMatcher matcher of the given representation template
+     * @param templateParts   representation template which defines which placeholder values are extracted
      * @return map containing the placeholder id and the respective value which was extracted from the string
      * @throws InvalidEntityRepresentationException if the given string does not match the given representation template
      */
-    private Map<String, String> placeholderValuesFromString(String stringValue, List<TemplatePart> templateParts) throws InvalidEntityRepresentationException {
-        Matcher m = Pattern.compile(TemplateHelper.getPattern(templateParts)).matcher(stringValue);
-        if (!m.matches()) throw new InvalidEntityRepresentationException(stringValue, templateParts);
+    private Map<String, String> placeholderValuesFromString(String stringValue, TemplateMatcher templateMatcher,
+                                                            List<TemplatePart> templateParts) throws InvalidEntityRepresentationException {
+        TemplateMatch m = templateMatcher.matchFully(stringValue);
+        if (m == null) throw new InvalidEntityRepresentationException(stringValue, templateParts);
 
-        Integer currentMatcherGroup = 1;
+        Integer currentPlaceholderValue = 0;
         Map<String, String> placeholderValues = new HashMap<>();
         for (TemplatePart part : templateParts) {
             if (!part.isPlaceholderPart()) continue;
-            placeholderValues.put(part.getPlaceholderIdentifier(), m.group(currentMatcherGroup++));
+            placeholderValues.put(part.getPlaceholderIdentifier(), m.getPlaceholderValues().get(currentPlaceholderValue++));
         }
         return placeholderValues;
     }
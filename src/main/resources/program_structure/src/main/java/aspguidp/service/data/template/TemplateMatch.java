@@ -0,0 +1,109 @@
+package aspguidp.service.data.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of matching a string against a sequence of {@link TemplatePart} instances by a {@link TemplateMatcher}.
+ * <p>
+ * A match contains the number of matched template parts, the end positions of the matches of the sub sequences of the
+ * matched template parts and the values of the matched placeholder template parts.
+ * <p>
+ * Additionally, a match keeps the state of the search of the matcher, which allows the matcher to resume the search
+ * for a following string ({@link TemplateMatcher#match(String, TemplateMatch)}).
+ */
+public class TemplateMatch {
+    private final TemplateMatcher matcher;
+    private final String string;
+    private final int matchedPartCount;
+    private final TemplateMatcher.SearchState searchState;
+    private final List<String> placeholderValues;
+
+    /**
+     * Create a new match.
+     *
+     * @param matcher           matcher which created the match
+     * @param string            string which was matched
+     * @param matchedPartCount  number of template parts which were matched
+     * @param searchState       state of the search of the matcher
+     * @param placeholderValues values of the matched placeholder template parts
+     */
+    TemplateMatch(TemplateMatcher matcher, String string, int matchedPartCount,
+                  TemplateMatcher.SearchState searchState, List<String> placeholderValues) {
+        this.matcher = matcher;
+        this.string = string;
+        this.matchedPartCount = matchedPartCount;
+        this.searchState = searchState;
+        this.placeholderValues = placeholderValues;
+    }
+
+    /**
+     * @return string which was matched
+     */
+    public String getString() {
+        return this.string;
+    }
+
+    /**
+     * @return number of template parts which were matched
+     */
+    public int getMatchedPartCount() {
+        return this.matchedPartCount;
+    }
+
+    /**
+     * @return new list which contains the sequence of template parts which were matched
+     */
+    public List<TemplatePart> getMatchingParts() {
+        return new ArrayList<>(this.matcher.getTemplateParts().subList(0, this.matchedPartCount));
+    }
+
+    /**
+     * @return position of the end of the match of all matched template parts
+     */
+    public int getEndPosition() {
+        return this.getEndPosition(this.matchedPartCount);
+    }
+
+    /**
+     * Returns the position of the end of the match, when the string is matched against the given number of template
+     * parts.
+     *
+     * @param partCount number of template parts
+     * @return end position of the match. 0, if the string does not match the given number of template parts
+     */
+    public int getEndPosition(int partCount) {
+        if (partCount > this.matchedPartCount || this.searchState.getFirstEndPosition(partCount) < 0) return 0;
+        return this.searchState.getFirstEndPosition(partCount);
+    }
+
+    /**
+     * @return values of the matched placeholder template parts, in the order of the template parts
+     */
+    public List<String> getPlaceholderValues() {
+        return this.placeholderValues;
+    }
+
+    /**
+     * @return matcher which created the match
+     */
+    TemplateMatcher getMatcher() {
+        return this.matcher;
+    }
+
+    /**
+     * @return state of the search of the matcher
+     */
+    TemplateMatcher.SearchState getSearchState() {
+        return this.searchState;
+    }
+
+    /**
+     * @param partCount number of template parts
+     * @return number of characters of the matched string which were inspected, before the given number of template
+     * parts was matched for the first time
+     */
+    int getInspectedLength(int partCount) {
+        return this.searchState.getInspectedLength(partCount);
+    }
+}
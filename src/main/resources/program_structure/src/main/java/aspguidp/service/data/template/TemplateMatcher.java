@@ -0,0 +1,361 @@
+package aspguidp.service.data.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matcher which matches strings against a sequence of {@link TemplatePart} instances.
+ * <p>
+ * A matcher instance is created once for a sequence of template parts and can be used to match an arbitrary number of
+ * strings afterwards. Fixed template parts are matched literally and the values of placeholder template parts are
+ * scanned directly, therefore no regular expressions are compiled while matching.
+ * <p>
+ * The matcher returns the same results as matching the regex pattern of the template parts
+ * ({@link TemplatePart#getPattern()}): if several placeholder values are possible, the values are tried in the order
+ * of the value pattern ({@link aspguidp.helper.PatternHelper#getValuePattern()}), which prefers longer identifiers and
+ * numbers and shorter strings.
+ * <p>
+ * The matching is a backtracking search over the template parts. When the search reaches a number of matched template
+ * parts for the first time, the state of the search and the number of characters which were inspected so far are
+ * stored in the returned {@link TemplateMatch}. If a string is matched based on the match of a previous string, the
+ * search is resumed from the deepest stored state whose inspected characters did not change. This is used to match
+ * user input on every keystroke, where the input usually only changes at its end.
+ * <p>
+ * Instances of this class are immutable and can be used concurrently.
+ */
+public class TemplateMatcher {
+    private final List<TemplatePart> templateParts;
+    private final String[] fixedValues;
+
+    /**
+     * Create a new matcher instance for the given sequence of template parts.
+     *
+     * @param templateParts sequence of template parts which is matched against strings
+     */
+    public TemplateMatcher(List<TemplatePart> templateParts) {
+        this.templateParts = templateParts;
+        this.fixedValues = new String[templateParts.size()];
+        for (int i = 0; i < templateParts.size(); i++) {
+            if (!templateParts.get(i).isPlaceholderPart()) this.fixedValues[i] = templateParts.get(i).getDisplayValue();
+        }
+    }
+
+    /**
+     * Match the beginning of the given string against the template parts of the matcher. The returned match contains
+     * the maximum sub sequence of the template parts, which starts with the first template part and can be matched
+     * against the beginning of the given string.
+     *
+     * @param s string which is matched against the template parts
+     * @return match of the maximum sequence of template parts which matches the beginning of the given string
+     */
+    public TemplateMatch match(String s) {
+        return this.match(s, null);
+    }
+
+    /**
+     * Match the beginning of the given string against the template parts of the matcher, based on the given match of a
+     * previous string. The search is resumed from the state of the previous match which only depends on the common
+     * beginning of both strings. The returned match is equal to the match which is returned for the given string
+     * without a previous match.
+     *
+     * @param s             string which is matched against the template parts
+     * @param previousMatch match of a previous string by this matcher. null, if there is no previous match
+     * @return match of the maximum sequence of template parts which matches the beginning of the given string
+     */
+    public TemplateMatch match(String s, TemplateMatch previousMatch) {
+        if (previousMatch == null || previousMatch.getMatcher() != this) return this.search(s, false, null, 0);
+        if (previousMatch.getString().equals(s)) return previousMatch;
+
+        // find the deepest state of the previous search which only inspected the common beginning of both strings
+        String previousString = previousMatch.getString();
+        int commonLength = 0;
+        int maxCommonLength = Math.min(previousString.length(), s.length());
+        while (commonLength < maxCommonLength && previousString.charAt(commonLength) == s.charAt(commonLength)) commonLength++;
+
+        int resumeDepth = previousMatch.getMatchedPartCount();
+        while (resumeDepth > 0 && previousMatch.getInspectedLength(resumeDepth) > commonLength) resumeDepth--;
+
+        return this.search(s, false, previousMatch, resumeDepth);
+    }
+
+    /**
+     * Match the whole given string against all template parts of the matcher.
+     *
+     * @param s string which is matched against the template parts
+     * @return match of all template parts. null, if the given string does not match the template parts
+     */
+    public TemplateMatch matchFully(String s) {
+        return this.search(s, true, null, 0);
+    }
+
+    /**
+     * Search for a match of the template parts in the given string. The search is either started from the beginning
+     * or resumed from the state of the given previous match with the given number of matched template parts.
+     *
+     * @param s             string which is matched against the template parts
+     * @param matchFully    true, if the whole string must be matched by all template parts
+     * @param previousMatch match from which the search is resumed. null, if the search is started from the beginning
+     * @param resumeDepth   number of matched template parts of the state of the previous match which is resumed
+     * @return match of the template parts. null, if the whole string is not matched but should be matched fully
+     */
+    private TemplateMatch search(String s, boolean matchFully, TemplateMatch previousMatch, int resumeDepth) {
+        SearchState state = new SearchState(s, this.templateParts.size());
+        int depth = resumeDepth;
+
+        if (previousMatch != null) {
+            state.restore(previousMatch, resumeDepth);
+        } else {
+            state.reach(0);
+        }
+
+        boolean matched = false;
+        while (true) {
+            // expand the current depth: complete match or compute possible end positions of the next template part
+            if (depth == this.templateParts.size()) {
+                if (!matchFully || state.getPosition(depth) == s.length()) {
+                    matched = true;
+                    break;
+                }
+            } else {
+                state.candidateEnds[depth] = this.getCandidateEnds(state, depth, state.getPosition(depth));
+                state.cursors[depth] = 0;
+            }
+
+            // advance to the next possible end position, backtrack if there is none
+            while (depth >= 0 && (depth == this.templateParts.size() || state.cursors[depth] >= state.candidateEnds[depth].length)) {
+                depth--;
+            }
+            if (depth < 0) break;
+
+            state.cursors[depth]++;
+            depth++;
+            state.reach(depth);
+        }
+
+        if (matchFully) {
+            if (!matched) return null;
+            int partCount = this.templateParts.size();
+            return new TemplateMatch(this, s, partCount, state, this.getPlaceholderValues(s, state.getPartEnds(partCount)));
+        }
+
+        return new TemplateMatch(this, s, state.matchedPartCount, state,
+                this.getPlaceholderValues(s, state.matchedPartEnds));
+    }
+
+    /**
+     * @return sequence of template parts which is matched against strings
+     */
+    public List<TemplatePart> getTemplateParts() {
+        return this.templateParts;
+    }
+
+    /**
+     * Get the possible end positions of the template part with the given index at the given position, in the order in
+     * which they are tried. The number of inspected characters of the given search state is updated.
+     *
+     * @param state     state of the current search
+     * @param partIndex index of the template part which is matched
+     * @param position  position in the string at which the template part is matched
+     * @return possible end positions of the template part
+     */
+    private int[] getCandidateEnds(SearchState state, int partIndex, int position) {
+        String s = state.s;
+
+        if (this.fixedValues[partIndex] != null) {
+            int end = position + this.fixedValues[partIndex].length();
+            state.inspect(end);
+            return (s.startsWith(this.fixedValues[partIndex], position)) ? new int[]{end} : new int[0];
+        }
+
+        state.inspect(position + 1);
+        if (position >= s.length()) return new int[0];
+        char c = s.charAt(position);
+
+        if (c >= 'a' && c <= 'z') {
+            // identifier: longest value first
+            int end = position + 1;
+            while (end < s.length() && isIdentifierCharacter(s.charAt(end))) end++;
+            state.inspect(end + 1);
+            return getDescendingEnds(position, end);
+        } else if (c == '"') {
+            // string: every escaped quote ends a possible value before the closing quote
+            int[] ends = new int[0];
+            for (int i = position + 1; i < s.length(); i++) {
+                if (s.charAt(i) == '\\' && i + 1 < s.length() && s.charAt(i + 1) == '"') {
+                    ends = Arrays.copyOf(ends, ends.length + 1);
+                    ends[ends.length - 1] = i + 2;
+                    i++;
+                } else if (s.charAt(i) == '"') {
+                    state.inspect(i + 1);
+                    ends = Arrays.copyOf(ends, ends.length + 1);
+                    ends[ends.length - 1] = i + 1;
+                    return ends;
+                }
+            }
+            // the end of an unclosed string depends on the length of the string
+            state.inspect(s.length() + 1);
+            return ends;
+        } else if (c == '0') {
+            return new int[]{position + 1};
+        } else if (c >= '1' && c <= '9') {
+            // number: longest value first
+            int end = position + 1;
+            while (end < s.length() && s.charAt(end) >= '0' && s.charAt(end) <= '9') end++;
+            state.inspect(end + 1);
+            return getDescendingEnds(position, end);
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * @param s        string which was matched
+     * @param partEnds end positions of the matched template parts
+     * @return values of the matched placeholder template parts in the given string
+     */
+    private List<String> getPlaceholderValues(String s, int[] partEnds) {
+        List<String> placeholderValues = new ArrayList<>();
+        for (int i = 0; i < partEnds.length; i++) {
+            if (this.fixedValues[i] == null) placeholderValues.add(s.substring((i > 0) ? partEnds[i - 1] : 0, partEnds[i]));
+        }
+        return placeholderValues;
+    }
+
+    /**
+     * @param position start position of a value
+     * @param end      maximum end position of the value
+     * @return end positions from the given maximum end position down to the position after the given start position
+     */
+    private static int[] getDescendingEnds(int position, int end) {
+        int[] ends = new int[end - position];
+        for (int i = 0; i < ends.length; i++) ends[i] = end - i;
+        return ends;
+    }
+
+    /**
+     * @param c character which is checked
+     * @return true, if the given character is allowed after the first character of an identifier
+     */
+    private static boolean isIdentifierCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * State of the search for a match of a single string.
+     * <p>
+     * For every template part on the current search path, the possible end positions and a cursor behind the currently
+     * tried end position are stored. When a number of matched template parts is reached for the first time, a copy of
+     * the path is stored, together with the number of characters which were inspected so far.
+     */
+    static class SearchState {
+        private final String s;
+        private final int[][] candidateEnds;
+        private final int[] cursors;
+        private final int[] firstEndPositions;
+        private final int[] inspectedLengths;
+        private final int[][][] firstCandidateEnds;
+        private final int[][] firstCursors;
+        private int inspectedLength = 0;
+        private int matchedPartCount = 0;
+        private int[] matchedPartEnds = new int[0];
+
+        /**
+         * @param s         string which is matched
+         * @param partCount number of template parts which are matched
+         */
+        private SearchState(String s, int partCount) {
+            this.s = s;
+            this.candidateEnds = new int[partCount][];
+            this.cursors = new int[partCount];
+            this.firstEndPositions = new int[partCount + 1];
+            this.inspectedLengths = new int[partCount + 1];
+            this.firstCandidateEnds = new int[partCount + 1][][];
+            this.firstCursors = new int[partCount + 1][];
+            Arrays.fill(this.firstEndPositions, -1);
+        }
+
+        /**
+         * Restore the state of the given previous match, when the given number of template parts was reached for the
+         * first time.
+         *
+         * @param previousMatch match of which the state is restored
+         * @param depth         number of matched template parts of the restored state
+         */
+        private void restore(TemplateMatch previousMatch, int depth) {
+            SearchState previousState = previousMatch.getSearchState();
+            System.arraycopy(previousState.firstEndPositions, 0, this.firstEndPositions, 0, depth + 1);
+            System.arraycopy(previousState.inspectedLengths, 0, this.inspectedLengths, 0, depth + 1);
+            System.arraycopy(previousState.firstCandidateEnds, 0, this.firstCandidateEnds, 0, depth + 1);
+            System.arraycopy(previousState.firstCursors, 0, this.firstCursors, 0, depth + 1);
+            System.arraycopy(previousState.firstCandidateEnds[depth], 0, this.candidateEnds, 0, depth);
+            System.arraycopy(previousState.firstCursors[depth], 0, this.cursors, 0, depth);
+
+            this.inspectedLength = previousState.inspectedLengths[depth];
+            this.matchedPartCount = depth;
+            this.matchedPartEnds = this.getPartEnds(depth);
+        }
+
+        /**
+         * Called when the search reaches the given number of matched template parts.
+         *
+         * @param depth number of matched template parts
+         */
+        private void reach(int depth) {
+            if (this.firstEndPositions[depth] >= 0) return;
+
+            // remember the first end position and the search path for every number of matched parts
+            this.firstEndPositions[depth] = this.getPosition(depth);
+            this.inspectedLengths[depth] = this.inspectedLength;
+            this.firstCandidateEnds[depth] = Arrays.copyOf(this.candidateEnds, depth);
+            this.firstCursors[depth] = Arrays.copyOf(this.cursors, depth);
+
+            // the number of matched parts increases on every first reach
+            this.matchedPartCount = depth;
+            this.matchedPartEnds = this.getPartEnds(depth);
+        }
+
+        /**
+         * @param length number of characters from the beginning of the string on which the search depends
+         */
+        private void inspect(int length) {
+            this.inspectedLength = Math.max(this.inspectedLength, length);
+        }
+
+        /**
+         * @param depth number of matched template parts on the current search path
+         * @return position in the string after the given number of matched template parts
+         */
+        private int getPosition(int depth) {
+            return (depth > 0) ? this.candidateEnds[depth - 1][this.cursors[depth - 1] - 1] : 0;
+        }
+
+        /**
+         * @param depth number of matched template parts on the current search path
+         * @return end positions of the given number of template parts on the current search path
+         */
+        private int[] getPartEnds(int depth) {
+            int[] partEnds = new int[depth];
+            for (int i = 0; i < depth; i++) partEnds[i] = this.candidateEnds[i][this.cursors[i] - 1];
+            return partEnds;
+        }
+
+        /**
+         * @param depth number of matched template parts
+         * @return end position of the first match of the given number of template parts. negative, if the number of
+         * template parts was not matched
+         */
+        int getFirstEndPosition(int depth) {
+            return this.firstEndPositions[depth];
+        }
+
+        /**
+         * @param depth number of matched template parts
+         * @return number of characters which were inspected, before the given number of template parts was matched for
+         * the first time
+         */
+        int getInspectedLength(int depth) {
+            return this.inspectedLengths[depth];
+        }
+    }
+}
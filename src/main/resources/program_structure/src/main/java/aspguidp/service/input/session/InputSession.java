@@ -0,0 +1,19 @@
+package aspguidp.service.input.session;
+
+import aspguidp.service.input.suggestion.SuggestionService;
+import aspguidp.service.input.validation.ValidationService;
+
+/**
+ * Interface for an input session.
+ * <p>
+ * An input session belongs to a single input field and combines the validation service and the suggestion service of
+ * the field. The session keeps the state of the last user input, therefore the validation status, the prompt text and
+ * the suggestions for the same input are computed based on a single shared result. When the user input changes, the
+ * session continues from the state of the previous input instead of starting from scratch.
+ * <p>
+ * Input session instances are used by the input components
+ * ({@link aspguidp.controller.input.element.InputElementController}), which pass the same session to the validation
+ * of their input field and to the autocomplete popup of their input field.
+ */
+public interface InputSession extends ValidationService, SuggestionService {
+}
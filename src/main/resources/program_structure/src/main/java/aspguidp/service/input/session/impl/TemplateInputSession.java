@@ -0,0 +1,134 @@
+package aspguidp.service.input.session.impl;
+
+import aspguidp.service.core.CoreServicePool;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.data.template.TemplateMatch;
+import aspguidp.service.data.template.TemplateMatcher;
+import aspguidp.service.data.template.TemplatePart;
+import aspguidp.service.input.session.InputSession;
+import aspguidp.service.input.suggestion.impl.FuzzyTemplateSuggestionService;
+import aspguidp.service.input.suggestion.impl.TemplateSuggestionService;
+import aspguidp.service.input.validation.impl.TemplateValidationService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the {@link InputSession} interface which is based on a sequence of {@link TemplatePart} instances.
+ * <p>
+ * The session matches every user input once and resumes the match of the previous input
+ * ({@link TemplateMatcher#match(String, TemplateMatch)}), which only rematches the template parts after the changed
+ * characters of the input. The match and the validation status of the last input are passed to a
+ * {@link TemplateValidationService} and a {@link TemplateSuggestionService}, which share the matcher of the session.
+ * <p>
+ * The validation status of the last input is computed again, if the input atoms of the application changed, as the
+ * placeholder values are validated against the input atoms.
+ * <p>
+ * The session requests the input atoms of the application, therefore its methods must be called on the JavaFX
+ * application thread. Suggestion queries which are prepared by the session only read the state which was gathered
+ * when they were prepared, therefore they can be executed on a background thread
+ * ({@link #prepareSuggestions(String)}).
+ */
+public class TemplateInputSession implements InputSession {
+    private final TemplateMatcher templateMatcher;
+    private final TemplateValidationService validationService;
+    private final TemplateSuggestionService suggestionService;
+
+    private String input;
+    private TemplateMatch inputMatch;
+    private ValidationStatus inputStatus;
+    private Collection<Atom> inputStatusAtoms;
+
+    /**
+     * Create a new session for the given sequence of template parts.
+     *
+     * @param templateParts sequence of template parts which is used to validate the input and generate suggestions
+     */
+    public TemplateInputSession(List<TemplatePart> templateParts) {
+        this(templateParts, false);
+    }
+
+    /**
+     * Create a new session for the given sequence of template parts. If fuzzy suggestions are enabled, the session
+     * uses a {@link FuzzyTemplateSuggestionService}, which also suggests values that contain the current placeholder
+     * value or are similar to it.
+     *
+     * @param templateParts    sequence of template parts which is used to validate the input and generate suggestions
+     * @param fuzzySuggestions true, if fuzzy suggestions are generated instead of prefix suggestions
+     */
+    public TemplateInputSession(List<TemplatePart> templateParts, boolean fuzzySuggestions) {
+        this.templateMatcher = new TemplateMatcher(templateParts);
+        this.validationService = new TemplateValidationService(this.templateMatcher);
+        this.suggestionService = (fuzzySuggestions)
+                ? new FuzzyTemplateSuggestionService(this.templateMatcher, this.validationService)
+                : new TemplateSuggestionService(this.templateMatcher, this.validationService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ValidationStatus validate(String input) {
+        this.update(input);
+        return this.inputStatus;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSuggestions(String input) {
+        return this.getSuggestions(input, Integer.MAX_VALUE, s -> true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSuggestions(String input, int limit, Predicate<String> filter) {
+        return this.prepareSuggestions(input).getSuggestions(limit, filter);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The suggestions are prepared with the match and the validation status of the session for the given input.
+     */
+    @Override
+    public synchronized SuggestionQuery prepareSuggestions(String input) {
+        this.update(input);
+        return this.suggestionService.prepareSuggestions(input, this.inputMatch, this.inputStatus);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String getPromptText(String input) {
+        this.update(input);
+        return this.suggestionService.getPromptText(input, this.inputMatch, this.inputStatus);
+    }
+
+    /**
+     * Update the state of the session to the given input. The input is only matched, if it differs from the last input
+     * and is only validated, if it differs from the last input or the input atoms changed.
+     *
+     * @param input user input to which the state of the session is updated
+     */
+    private void update(String input) {
+        // the atom hub returns the same snapshot as long as the input atoms are not modified
+        Collection<Atom> inputAtoms = CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers();
+
+        if (!input.equals(this.input)) {
+            this.inputMatch = this.templateMatcher.match(input, this.inputMatch);
+            this.inputStatus = null;
+            this.input = input;
+        }
+
+        if (this.inputStatus == null || inputAtoms != this.inputStatusAtoms) {
+            this.inputStatus = this.validationService.validate(input, this.inputMatch);
+            this.inputStatusAtoms = inputAtoms;
+        }
+    }
+}
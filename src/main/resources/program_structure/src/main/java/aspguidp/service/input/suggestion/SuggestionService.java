@@ -1,6 +1,8 @@
 package aspguidp.service.input.suggestion;
 
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Interface for a suggestion service.
@@ -21,9 +23,59 @@ public interface SuggestionService {
      */
     List<String> getSuggestions(String input);
 
+    /**
+     * Generate at most the given number of suggestions for the given user input. Only suggestions which are accepted
+     * by the given filter are returned. The returned suggestions are the first suggestions of the complete list of
+     * suggestions for the user input, which are accepted by the filter.
+     * <p>
+     * The filter is called for the possible suggestions while the suggestions are generated, therefore a filter may
+     * throw a {@link java.util.concurrent.CancellationException} to cancel the generation of the suggestions.
+     *
+     * @param input  user input for which the suggestions are generated
+     * @param limit  maximum number of returned suggestions
+     * @param filter filter which must accept the returned suggestions
+     * @return list of at most the given number of suggestions for the given user input string
+     */
+    default List<String> getSuggestions(String input, int limit, Predicate<String> filter) {
+        return this.getSuggestions(input).stream().filter(filter).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Prepare the generation of suggestions for the given user input. The state which is required to generate the
+     * suggestions (for example: the input atoms of the application) is gathered on the calling thread, which must be
+     * the JavaFX application thread. The returned query only reads the gathered state, therefore it can be executed on
+     * a background thread.
+     * <p>
+     * The default implementation gathers no state and generates the suggestions when the query is executed
+     * ({@link #getSuggestions(String, int, Predicate)}).
+     *
+     * @param input user input for which the suggestions are generated
+     * @return query which generates the suggestions for the given user input
+     */
+    default SuggestionQuery prepareSuggestions(String input) {
+        return (limit, filter) -> this.getSuggestions(input, limit, filter);
+    }
+
     /**
      * @param input user input string for which the prompt text is generated
      * @return prompt text for the given user input string
      */
     String getPromptText(String input);
+
+    /**
+     * Query which generates the suggestions for a prepared user input
+     * ({@link SuggestionService#prepareSuggestions(String)}).
+     */
+    @FunctionalInterface
+    interface SuggestionQuery {
+        /**
+         * Generate at most the given number of suggestions which are accepted by the given filter
+         * ({@link SuggestionService#getSuggestions(String, int, Predicate)}).
+         *
+         * @param limit  maximum number of returned suggestions
+         * @param filter filter which must accept the returned suggestions
+         * @return list of at most the given number of suggestions for the prepared user input
+         */
+        List<String> getSuggestions(int limit, Predicate<String> filter);
+    }
 }
@@ -0,0 +1,98 @@
+package aspguidp.service.input.suggestion.impl;
+
+import aspguidp.helper.ValueSourceHelper;
+import aspguidp.service.core.CoreServicePool;
+import aspguidp.service.core.atom.SearchableAtomValueIndex;
+import aspguidp.service.data.template.TemplateMatcher;
+import aspguidp.service.data.template.TemplatePart;
+import aspguidp.service.input.validation.ValidationService;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link aspguidp.service.input.suggestion.SuggestionService} interface which suggests
+ * placeholder values that contain the current placeholder value of the user input anywhere or are similar to it.
+ * <p>
+ * In contrast to the {@link TemplateSuggestionService}, which only suggests values that start with the current
+ * placeholder value, this service searches the values of the value source in the input value index of the application
+ * ({@link CoreServicePool#getInputValueIndex()}). The suggested values are ranked by their relevance for the current
+ * placeholder value. A suggestion replaces the current placeholder value of the user input.
+ * <p>
+ * As the current placeholder value does not need to be the beginning of a valid value, suggestions are also generated
+ * for invalid user input, as long as the fixed start part of the suggestions is not invalid.
+ */
+public class FuzzyTemplateSuggestionService extends TemplateSuggestionService {
+    private static final int searchLimit = 1000;
+
+    private final ValidationService validationService;
+
+    /**
+     * Create a new service instance which uses the given matcher. The template parts of the given matcher are used to
+     * generate suggestions and prompt texts. The given validation service is used to validate given user inputs.
+     *
+     * @param templateMatcher   matcher which is used to match given user inputs
+     * @param validationService service which is used to validate given user inputs
+     */
+    public FuzzyTemplateSuggestionService(TemplateMatcher templateMatcher, ValidationService validationService) {
+        super(templateMatcher, validationService);
+        this.validationService = validationService;
+    }
+
+    /**
+     * Create a new service instance for the given sequence of template parts.
+     * The given validation service is used to validate given user input.
+     *
+     * @param templateParts     sequence of template pats which is used to generate suggestions and prompt texts
+     * @param validationService service which is used to validate given user inputs
+     */
+    public FuzzyTemplateSuggestionService(List<TemplatePart> templateParts, ValidationService validationService) {
+        this(new TemplateMatcher(templateParts), validationService);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Suggestions are also generated for invalid user input, if the fixed start part of the suggestions is valid or
+     * incomplete. In this case only the current placeholder value is invalid, which is replaced by the suggestions.
+     */
+    @Override
+    protected boolean isSuggestible(ValidationService.ValidationStatus inputStatus, String fixedSuggestionStart) {
+        if (inputStatus != ValidationService.ValidationStatus.INVALID) return true;
+        return this.validationService.validate(fixedSuggestionStart) != ValidationService.ValidationStatus.INVALID;
+    }
+
+    /**
+     * Search possible placeholder values in the input value index of the application. At most 1000 values are
+     * returned, ranked by their relevance for the current placeholder value.
+     * <p>
+     * If the given value source is empty, the given current placeholder value is returned as possible value.
+     *
+     * @param currentPlaceholderValue current placeholder value which is searched in the values of the value source
+     * @param placeholderValueSource  value source from which possible values are extracted
+     * @return ranked list of possible placeholder values
+     */
+    @Override
+    protected List<String> getPossiblePlaceholderValues(String currentPlaceholderValue, String placeholderValueSource) {
+        if (placeholderValueSource.isEmpty()) return super.getPossiblePlaceholderValues(currentPlaceholderValue, placeholderValueSource);
+
+        // the index is updated when the suggestions are prepared, this method only reads the index
+        SearchableAtomValueIndex inputValueIndex = CoreServicePool.getInstance().getInputValueIndex();
+        return ValueSourceHelper.searchValues(inputValueIndex, placeholderValueSource, currentPlaceholderValue, searchLimit);
+    }
+
+    /**
+     * Placeholder values are suggested in the order of their rank, which is the order of the given possible values.
+     *
+     * @param possibleValues ranked possible placeholder values which are suggested
+     * @return comparator which sorts placeholder values by their rank
+     */
+    @Override
+    protected Comparator<String> getPlaceholderValueOrder(List<String> possibleValues) {
+        Map<String, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < possibleValues.size(); i++) ranks.putIfAbsent(possibleValues.get(i), i);
+        return Comparator.comparing(ranks::get);
+    }
+}
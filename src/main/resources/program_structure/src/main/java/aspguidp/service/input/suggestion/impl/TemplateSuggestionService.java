@@ -1,18 +1,20 @@
 package aspguidp.service.input.suggestion.impl;
 
-import aspguidp.helper.TemplateHelper;
 import aspguidp.helper.ValueSourceHelper;
 import aspguidp.service.core.CoreServicePool;
-import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomValueIndex;
+import aspguidp.service.data.template.TemplateMatch;
+import aspguidp.service.data.template.TemplateMatcher;
 import aspguidp.service.data.template.TemplatePart;
 import aspguidp.service.input.suggestion.SuggestionService;
 import aspguidp.service.input.validation.ValidationService;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
 
 /**
  * Implementation of the {@link SuggestionService} interface which generates suggestions and prompt texts based on a
@@ -24,9 +26,13 @@ import java.util.stream.Stream;
  * Suggestions generated by an instance of this service always suggest the value for exactly one placeholder template
  * part. Therefore a suggestion generated by this service can be split up into 3 parts: fixed start, suggested
  * placeholder value and fixed end.
+ * <p>
+ * Suggestions are sorted by their suggested placeholder value. If only a limited number of suggestions is requested,
+ * the first suggestions are selected by a bounded heap, instead of sorting all possible placeholder values.
  */
 public class TemplateSuggestionService implements SuggestionService {
     private final List<TemplatePart> templateParts;
+    private final TemplateMatcher templateMatcher;
     private final ValidationService validationService;
 
     /**
@@ -40,7 +46,19 @@ public class TemplateSuggestionService implements SuggestionService {
      * @param validationService service which is used to validate given user inputs
      */
     public TemplateSuggestionService(List<TemplatePart> templateParts, ValidationService validationService) {
-        this.templateParts = templateParts;
+        this(new TemplateMatcher(templateParts), validationService);
+    }
+
+    /**
+     * Create a new service instance which uses the given matcher. The template parts of the given matcher are used to
+     * generate suggestions and prompt texts. The given validation service is used to validate given user input.
+     *
+     * @param templateMatcher   matcher which is used to match given user inputs
+     * @param validationService service which is used to validate given user inputs
+     */
+    public TemplateSuggestionService(TemplateMatcher templateMatcher, ValidationService validationService) {
+        this.templateParts = templateMatcher.getTemplateParts();
+        this.templateMatcher = templateMatcher;
         this.validationService = validationService;
     }
 
@@ -49,28 +67,121 @@ public class TemplateSuggestionService implements SuggestionService {
      */
     @Override
     public List<String> getSuggestions(String input) {
-        if (this.validationService.validate(input) == ValidationService.ValidationStatus.INVALID)
-            return Collections.emptyList();
+        return this.getSuggestions(input, Integer.MAX_VALUE, s -> true);
+    }
 
-        // get fixed start part of suggestion
-        String fixedSuggestionStart = this.getFixedSuggestionStart(input);
-        List<TemplatePart> coveredParts = TemplateHelper.getMatchingTemplateParts(fixedSuggestionStart, this.templateParts);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSuggestions(String input, int limit, Predicate<String> filter) {
+        return this.prepareSuggestions(input).getSuggestions(limit, filter);
+    }
 
-        // if first not covered part is a placeholder part, get suggestions values for placeholder
-        List<String> placeholderSuggestions = Collections.singletonList("");
+    /**
+     * Generate suggestions for the given user input based on the given match and validation status of the input. This
+     * allows to reuse a match and a validation status, which were already computed for the input.
+     *
+     * @param input       user input for which the suggestions are generated
+     * @param inputMatch  match of the template parts against the given user input
+     * @param inputStatus validation status of the given user input
+     * @return list of suggestions for the given user input string
+     */
+    public List<String> getSuggestions(String input, TemplateMatch inputMatch, ValidationService.ValidationStatus inputStatus) {
+        return this.prepareSuggestions(input, inputMatch, inputStatus).getSuggestions(Integer.MAX_VALUE, s -> true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SuggestionQuery prepareSuggestions(String input) {
+        return this.prepareSuggestions(input, this.templateMatcher.match(input), this.validationService.validate(input));
+    }
+
+    /**
+     * Prepare the generation of suggestions for the given user input based on the given match and validation status of
+     * the input ({@link SuggestionService#prepareSuggestions(String)}).
+     * <p>
+     * The fixed parts of the suggestions are determined on the calling thread. Additionally, the input value index of
+     * the application is updated ({@link CoreServicePool#getUpdatedInputValueIndex()}). The returned query only looks
+     * up the possible placeholder values in the input value index, therefore it can be executed on a background thread.
+     *
+     * @param input       user input for which the suggestions are generated
+     * @param inputMatch  match of the template parts against the given user input
+     * @param inputStatus validation status of the given user input
+     * @return query which generates the suggestions for the given user input
+     */
+    public SuggestionQuery prepareSuggestions(String input, TemplateMatch inputMatch, ValidationService.ValidationStatus inputStatus) {
+        // get fixed start part of suggestion, the fixed start is a prefix of the input and resumes the input match
+        String fixedSuggestionStart = this.getFixedSuggestionStart(input, inputMatch);
+        if (!this.isSuggestible(inputStatus, fixedSuggestionStart)) return (limit, filter) -> Collections.emptyList();
+        List<TemplatePart> coveredParts = this.templateMatcher.match(fixedSuggestionStart, inputMatch).getMatchingParts();
+
+        // if first not covered part is a placeholder part, suggest values for placeholder
+        String placeholderValueSource = null;
+        String currentPlaceholderValue = null;
         if (this.templateParts.size() > coveredParts.size() && this.templateParts.get(coveredParts.size()).isPlaceholderPart()) {
-            String placeholderValueSource = this.templateParts.get(coveredParts.size()).getPlaceholderValueSource();
-            String currentPlaceholderValue = input.substring(TemplateHelper.getMatchEndPosition(input, coveredParts));
-            placeholderSuggestions = this.getPossiblePlaceholderValues(currentPlaceholderValue, placeholderValueSource);
+            placeholderValueSource = this.templateParts.get(coveredParts.size()).getPlaceholderValueSource();
+            currentPlaceholderValue = input.substring(inputMatch.getEndPosition(coveredParts.size()));
             coveredParts.add(this.templateParts.get(coveredParts.size()));
         }
 
         // get fixed end part of suggestion
         String fixedSuggestionEnd = this.getFixedSuggestionEnd(coveredParts);
 
-        // construct suggestions by concatenating fixed parts with sorted suggestions
-        Stream<String> suggestionStream = placeholderSuggestions.stream().sorted();
-        return suggestionStream.map(s -> fixedSuggestionStart + s + fixedSuggestionEnd).collect(Collectors.toList());
+        // the input value index is updated on the calling thread, the query only reads the index
+        CoreServicePool.getInstance().getUpdatedInputValueIndex();
+
+        String valueSource = placeholderValueSource;
+        String currentValue = currentPlaceholderValue;
+        return (limit, filter) -> {
+            if (limit <= 0) return Collections.emptyList();
+            List<String> placeholderSuggestions = (valueSource != null)
+                    ? this.getPossiblePlaceholderValues(currentValue, valueSource)
+                    : Collections.singletonList("");
+
+            // keep the first placeholder values of accepted suggestions in a heap, which has the last value on top
+            Comparator<String> valueOrder = this.getPlaceholderValueOrder(placeholderSuggestions);
+            PriorityQueue<String> firstValues = new PriorityQueue<>(Math.min(limit, 64), valueOrder.reversed());
+            for (String value : placeholderSuggestions) {
+                if (firstValues.size() >= limit && valueOrder.compare(value, firstValues.peek()) >= 0) continue;
+                if (!filter.test(fixedSuggestionStart + value + fixedSuggestionEnd)) continue;
+
+                firstValues.add(value);
+                if (firstValues.size() > limit) firstValues.poll();
+            }
+
+            // construct suggestions by concatenating fixed parts with sorted suggestions
+            List<String> sortedValues = new ArrayList<>(firstValues);
+            sortedValues.sort(valueOrder);
+            List<String> suggestions = new ArrayList<>(sortedValues.size());
+            for (String value : sortedValues) suggestions.add(fixedSuggestionStart + value + fixedSuggestionEnd);
+            return suggestions;
+        };
+    }
+
+    /**
+     * Check if suggestions are generated for an input with the given validation status and the given fixed start part
+     * of the suggestions. Suggestions are only generated for inputs which are not invalid.
+     *
+     * @param inputStatus          validation status of the user input
+     * @param fixedSuggestionStart fixed start part of the suggestions for the user input
+     * @return true, if suggestions are generated for the user input
+     */
+    protected boolean isSuggestible(ValidationService.ValidationStatus inputStatus, String fixedSuggestionStart) {
+        return inputStatus != ValidationService.ValidationStatus.INVALID;
+    }
+
+    /**
+     * Get the order in which the given possible placeholder values are suggested. Placeholder values are suggested in
+     * their natural order.
+     *
+     * @param possibleValues possible placeholder values which are suggested
+     * @return comparator which sorts placeholder values in the order in which they are suggested
+     */
+    protected Comparator<String> getPlaceholderValueOrder(List<String> possibleValues) {
+        return Comparator.naturalOrder();
     }
 
     /**
@@ -81,26 +192,26 @@ public class TemplateSuggestionService implements SuggestionService {
      * must start with this fixed part.
      *
      * @param input user input string from which the fixed part is extracted
+     * @param match match of the template parts against the given user input
      * @return fixed part extracted from the given user input
      */
-    private String getFixedSuggestionStart(String input) {
-        List<TemplatePart> matchingParts = TemplateHelper.getMatchingTemplateParts(input, this.templateParts);
+    private String getFixedSuggestionStart(String input, TemplateMatch match) {
+        int matchedPartCount = match.getMatchedPartCount();
 
         // if there is an unmatched part at the end of the input, the user cannot change the matching parts anymore
         // therefore return the matching input as fixed
-        if (!input.substring(TemplateHelper.getMatchEndPosition(input, matchingParts)).isEmpty()) {
-            return input.substring(0, TemplateHelper.getMatchEndPosition(input, matchingParts));
+        if (match.getEndPosition() < input.length()) {
+            return input.substring(0, match.getEndPosition());
         }
 
         // if last matched part is a placeholder part, user can still change the placeholder value
         // therefore remove placeholder part from matching parts
-        TemplatePart lastMatchedPart = (!matchingParts.isEmpty()) ? matchingParts.get(matchingParts.size() - 1) : null;
-        if (lastMatchedPart != null && lastMatchedPart.isPlaceholderPart()) {
-            matchingParts.remove(lastMatchedPart);
+        if (matchedPartCount > 0 && this.templateParts.get(matchedPartCount - 1).isPlaceholderPart()) {
+            matchedPartCount--;
         }
 
         // return fixed part of the input
-        return input.substring(0, TemplateHelper.getMatchEndPosition(input, matchingParts));
+        return input.substring(0, match.getEndPosition(matchedPartCount));
     }
 
     /**
@@ -109,20 +220,23 @@ public class TemplateSuggestionService implements SuggestionService {
      * value.
      * <p>
      * If the given value source is empty, the given current placeholder value is returned as possible value.
+     * <p>
+     * This method may be called on a background thread, therefore it only reads the input value index of the
+     * application. The index is updated when the suggestions are prepared.
      *
      * @param currentPlaceholderValue current placeholder value which is used to extract possible values
      * @param placeholderValueSource  value source from which possible values are extracted
      * @return list of possible placeholder values
      */
-    private List<String> getPossiblePlaceholderValues(String currentPlaceholderValue, String placeholderValueSource) {
+    protected List<String> getPossiblePlaceholderValues(String currentPlaceholderValue, String placeholderValueSource) {
         // if value source is empty, every value is valid
         if (placeholderValueSource.isEmpty()) {
             if (currentPlaceholderValue.isEmpty()) return Collections.emptyList();
             return Collections.singletonList(currentPlaceholderValue);
         }
 
-        Collection<Atom> currentInputAtoms = CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers();
-        return ValueSourceHelper.getValues(currentInputAtoms, placeholderValueSource, currentPlaceholderValue);
+        AtomValueIndex inputValueIndex = CoreServicePool.getInstance().getInputValueIndex();
+        return ValueSourceHelper.getValues(inputValueIndex, placeholderValueSource, currentPlaceholderValue);
     }
 
     /**
@@ -149,15 +263,27 @@ public class TemplateSuggestionService implements SuggestionService {
      */
     @Override
     public String getPromptText(String input) {
-        if (this.validationService.validate(input) == ValidationService.ValidationStatus.INVALID) return "";
+        return this.getPromptText(input, this.templateMatcher.match(input), this.validationService.validate(input));
+    }
+
+    /**
+     * Generate the prompt text for the given user input based on the given match and validation status of the input.
+     * This allows to reuse a match and a validation status, which were already computed for the input.
+     *
+     * @param input       user input string for which the prompt text is generated
+     * @param match       match of the template parts against the given user input
+     * @param inputStatus validation status of the given user input
+     * @return prompt text for the given user input string
+     */
+    public String getPromptText(String input, TemplateMatch match, ValidationService.ValidationStatus inputStatus) {
+        if (inputStatus == ValidationService.ValidationStatus.INVALID) return "";
 
-        // get matched template parts and matched input string
-        List<TemplatePart> matchingParts = TemplateHelper.getMatchingTemplateParts(input, this.templateParts);
-        String matchedString = input.substring(0, TemplateHelper.getMatchEndPosition(input, matchingParts));
+        // get matched input string
+        String matchedString = input.substring(0, match.getEndPosition());
 
         // use not matched part for constructing remaining string
         String remainingString = "";
-        for (int i = matchingParts.size(); i < this.templateParts.size(); i++) {
+        for (int i = match.getMatchedPartCount(); i < this.templateParts.size(); i++) {
             remainingString = remainingString + this.templateParts.get(i).getDisplayValue();
         }
 
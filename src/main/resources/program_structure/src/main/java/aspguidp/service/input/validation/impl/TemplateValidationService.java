@@ -1,16 +1,14 @@
 package aspguidp.service.input.validation.impl;
 
-import aspguidp.helper.TemplateHelper;
 import aspguidp.helper.ValueSourceHelper;
 import aspguidp.service.core.CoreServicePool;
-import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.AtomValueIndex;
+import aspguidp.service.data.template.TemplateMatch;
+import aspguidp.service.data.template.TemplateMatcher;
 import aspguidp.service.data.template.TemplatePart;
 import aspguidp.service.input.validation.ValidationService;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +21,8 @@ import java.util.stream.Collectors;
  */
 public class TemplateValidationService implements ValidationService {
     private final List<TemplatePart> templateParts;
+    private final TemplateMatcher templateMatcher;
+    private final AtomValueIndex valueIndex;
 
     /**
      * Create a new service instance for the given sequence of template parts.
@@ -30,7 +30,45 @@ public class TemplateValidationService implements ValidationService {
      * @param inputTemplateParts sequence of template parts which is used to validate the input passed to the service
      */
     public TemplateValidationService(List<TemplatePart> inputTemplateParts) {
-        this.templateParts = inputTemplateParts;
+        this(new TemplateMatcher(inputTemplateParts));
+    }
+
+    /**
+     * Create a new service instance which uses the given matcher. The template parts of the given matcher are used to
+     * validate the input passed to the service.
+     *
+     * @param templateMatcher matcher which is used to match the input passed to the service
+     */
+    public TemplateValidationService(TemplateMatcher templateMatcher) {
+        this(templateMatcher, null);
+    }
+
+    /**
+     * Create a new service instance for the given sequence of template parts, which validates the placeholder values
+     * against the given value index instead of the input value index of the application.
+     * <p>
+     * As the given value index is not updated by the service, the service can be used outside of the JavaFX
+     * application thread, if the given value index is not modified concurrently.
+     *
+     * @param inputTemplateParts sequence of template parts which is used to validate the input passed to the service
+     * @param valueIndex         value index which is used to validate the placeholder values of the input
+     */
+    public TemplateValidationService(List<TemplatePart> inputTemplateParts, AtomValueIndex valueIndex) {
+        this(new TemplateMatcher(inputTemplateParts), valueIndex);
+    }
+
+    /**
+     * Create a new service instance which uses the given matcher and the given value index. If the value index is
+     * null, the placeholder values are validated against the updated input value index of the application
+     * ({@link CoreServicePool#getUpdatedInputValueIndex()}).
+     *
+     * @param templateMatcher matcher which is used to match the input passed to the service
+     * @param valueIndex      value index which is used to validate the placeholder values of the input or null
+     */
+    private TemplateValidationService(TemplateMatcher templateMatcher, AtomValueIndex valueIndex) {
+        this.templateParts = templateMatcher.getTemplateParts();
+        this.templateMatcher = templateMatcher;
+        this.valueIndex = valueIndex;
     }
 
     /**
@@ -38,36 +76,46 @@ public class TemplateValidationService implements ValidationService {
      */
     @Override
     public ValidationStatus validate(String input) {
-        List<TemplatePart> matchingParts = TemplateHelper.getMatchingTemplateParts(input, this.templateParts);
+        return this.validate(input, this.templateMatcher.match(input));
+    }
 
-        ValidationStatus notMatchedEndStatus = this.validateNotMatchedEnd(input, matchingParts);
+    /**
+     * Validate the given input based on the given match of the template parts against the input. This allows to reuse
+     * a match, which was already computed for the input.
+     *
+     * @param input input which is validated against the template parts
+     * @param match match of the template parts against the given input
+     * @return validation status of the given input
+     */
+    public ValidationStatus validate(String input, TemplateMatch match) {
+        ValidationStatus notMatchedEndStatus = this.validateNotMatchedEnd(input, match);
         if (notMatchedEndStatus != ValidationStatus.VALID) return notMatchedEndStatus;
 
-        ValidationStatus placeholderStatus = this.validatePlaceholderValues(input, matchingParts);
+        ValidationStatus placeholderStatus = this.validatePlaceholderValues(input, match);
         if (placeholderStatus != ValidationStatus.VALID) return placeholderStatus;
 
         // check if input matches all parts
-        if (matchingParts.size() != this.templateParts.size()) return ValidationStatus.INCOMPLETE;
+        if (match.getMatchedPartCount() != this.templateParts.size()) return ValidationStatus.INCOMPLETE;
 
         return ValidationStatus.VALID;
     }
 
     /**
-     * Validate the end of the given string which is not matched by the given sequence of template parts.
+     * Validate the end of the given string which is not matched by the template parts of the given match.
      *
-     * @param input         input which is validated against the given template parts
-     * @param matchingParts template parts which are used to validate the given input
-     * @return validation status of the end of the given string which is not matched by the given template parts
+     * @param input input which is validated against the template parts
+     * @param match match of the template parts against the given input
+     * @return validation status of the end of the given string which is not matched by the template parts
      */
-    private ValidationStatus validateNotMatchedEnd(String input, List<TemplatePart> matchingParts) {
+    private ValidationStatus validateNotMatchedEnd(String input, TemplateMatch match) {
         // check if not matched input is valid
-        String notMatchedInput = input.substring(TemplateHelper.getMatchEndPosition(input, matchingParts));
+        String notMatchedInput = input.substring(match.getEndPosition());
 
         if (!notMatchedInput.isEmpty()) {
             // all parts are already matched
-            if (matchingParts.size() == this.templateParts.size()) return ValidationStatus.INVALID;
+            if (match.getMatchedPartCount() == this.templateParts.size()) return ValidationStatus.INVALID;
 
-            TemplatePart nextPart = this.templateParts.get(matchingParts.size());
+            TemplatePart nextPart = this.templateParts.get(match.getMatchedPartCount());
             // not matched input is invalid as placeholder value, otherwise it would have been matched
             if (nextPart.isPlaceholderPart()) return ValidationStatus.INVALID;
             // not matched input is invalid, because it is not the beginning of the next part
@@ -78,23 +126,20 @@ public class TemplateValidationService implements ValidationService {
     }
 
     /**
-     * Validate the placeholder values of the given string by the given sequence of template parts.
-     * This method extracts the placeholder values from the given string based on the given sequence of template parts
-     * and validates every placeholder value against the respective value source of the placeholder template part.
+     * Validate the placeholder values of the given string by the template parts of the given match.
+     * This method takes the placeholder values which were extracted from the given string by the match and validates
+     * every placeholder value against the respective value source of the placeholder template part.
      *
-     * @param input         string of which the placeholder values are validated against the given template parts
-     * @param matchingParts template parts which are used to extract the placeholder values from the given string
+     * @param input string of which the placeholder values are validated against the template parts
+     * @param match match of the template parts against the given input
      * @return validation status of the placeholder values of the given string
      */
-    private ValidationStatus validatePlaceholderValues(String input, List<TemplatePart> matchingParts) {
-        String matchedPattern = "^" + TemplateHelper.getPattern(matchingParts);
-        Matcher matcher = Pattern.compile(matchedPattern).matcher(input);
-        if (!matcher.find()) return ValidationStatus.INVALID;
-
-        List<TemplatePart> matchingPlaceholderParts = matchingParts.stream()
+    private ValidationStatus validatePlaceholderValues(String input, TemplateMatch match) {
+        List<String> placeholderValues = match.getPlaceholderValues();
+        List<TemplatePart> matchingPlaceholderParts = match.getMatchingParts().stream()
                 .filter(TemplatePart::isPlaceholderPart).collect(Collectors.toList());
         for (int i = 0; i < matchingPlaceholderParts.size(); i++) {
-            String placeholderValue = matcher.group(i + 1);
+            String placeholderValue = placeholderValues.get(i);
             String valueSource = matchingPlaceholderParts.get(i).getPlaceholderValueSource();
             Boolean lastInputPart = input.endsWith(placeholderValue);
 
@@ -122,8 +167,8 @@ public class TemplateValidationService implements ValidationService {
         // if value source is empty, ever value is valid
         if (valueSource.isEmpty()) return ValidationStatus.VALID;
 
-        Collection<Atom> currentInputAtoms = CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers();
-        List<String> possibleValidValues = ValueSourceHelper.getValues(currentInputAtoms, valueSource, value);
+        AtomValueIndex inputValueIndex = (this.valueIndex != null) ? this.valueIndex : CoreServicePool.getInstance().getUpdatedInputValueIndex();
+        List<String> possibleValidValues = ValueSourceHelper.getValues(inputValueIndex, valueSource, value);
 
         if (possibleValidValues.contains(value)) return ValidationStatus.VALID;
         // if value is last part of input and there is a possible valid value left, status is incomplete
@@ -4,6 +4,7 @@ import aspguidp.exception.InvalidAtomRepresentationException;
 import aspguidp.service.core.CoreServicePool;
 import aspguidp.service.core.atom.Atom;
 import aspguidp.service.core.atom.AtomConsumer;
+import aspguidp.service.core.atom.AtomHub;
 import aspguidp.service.core.atom.impl.SimpleAtom;
 import aspguidp.service.output.condition.ConditionStatementService;
 import javafx.beans.property.BooleanProperty;
@@ -32,14 +33,20 @@ public class AtomConditionStatementService implements ConditionStatementService,
      * @param atomString string representation of the atom which will be managed by the service
      */
     public AtomConditionStatementService(String atomString) {
-        CoreServicePool.getInstance().getOutputAtomHub().registerAtomConsumer(this);
-
         // try parse atom, print exception if wrong format
         Atom tempAtom = null;
         try { tempAtom = (!atomString.isEmpty()) ? SimpleAtom.fromStringRepresentation(atomString) : null;
         } catch (InvalidAtomRepresentationException e) { e.printStackTrace(); }
 
         this.conditionAtom = tempAtom;
+
+        // only atoms with the predicate name and arity of the condition atom are relevant for the condition
+        AtomHub outputAtomHub = CoreServicePool.getInstance().getOutputAtomHub();
+        if (this.conditionAtom != null) {
+            outputAtomHub.registerAtomConsumer(this, this.conditionAtom.getPredicateName(), this.conditionAtom.getArity());
+        } else {
+            outputAtomHub.registerAtomConsumer(this);
+        }
     }
 
     /**
@@ -47,8 +54,29 @@ public class AtomConditionStatementService implements ConditionStatementService,
      */
     @Override
     public void setAtoms(Collection<Atom> atoms) {
+        this.prepareSetAtoms(atoms).run();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The condition is evaluated in the prepare phase.
+     */
+    @Override
+    public Runnable prepareSetAtoms(Collection<Atom> atoms) {
         // check if the condition atom of the service is contained in the atoms of the output atom hub
-        this.fulfilledProperty.set(this.conditionAtom == null || atoms.contains(this.conditionAtom));
+        boolean fulfilled = this.conditionAtom == null || atoms.contains(this.conditionAtom);
+        return () -> this.fulfilledProperty.set(fulfilled);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the condition only depends on the current atoms, the update is prepared like setting the given collection of atoms.
+     */
+    @Override
+    public Runnable prepareUpdateAtoms(Collection<Atom> atoms, Collection<Atom> addedAtoms, Collection<Atom> removedAtoms) {
+        return this.prepareSetAtoms(atoms);
     }
 
     /**